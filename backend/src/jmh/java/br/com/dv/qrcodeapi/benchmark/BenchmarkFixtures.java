@@ -0,0 +1,37 @@
+package br.com.dv.qrcodeapi.benchmark;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+
+final class BenchmarkFixtures {
+
+    private static final String CANNOT_INSTANTIATE_CLASS_MESSAGE = "BenchmarkFixtures class cannot be instantiated";
+    private static final String CONTENT_SEED = "https://example.com/qrcode?campaign=benchmark&id=";
+
+    static final int ON_COLOR = 0xFF000000;
+    static final int OFF_COLOR = 0xFFFFFFFF;
+    static final int MARGIN = 4;
+
+    private BenchmarkFixtures() {
+        throw new IllegalStateException(CANNOT_INSTANTIATE_CLASS_MESSAGE);
+    }
+
+    static String content(int length) {
+        var content = new StringBuilder(length);
+        while (content.length() < length) {
+            content.append(CONTENT_SEED).append(content.length());
+        }
+        return content.substring(0, length);
+    }
+
+    static ByteMatrix encode(String content, String correction) {
+        try {
+            return Encoder.encode(content, ErrorCorrectionLevel.valueOf(correction)).getMatrix();
+        } catch (WriterException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package br.com.dv.qrcodeapi.benchmark;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.metrics.QRCodeGenerationMetrics;
+import br.com.dv.qrcodeapi.util.ImageUtils;
+import br.com.dv.qrcodeapi.util.QRCodeRaster;
+import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageConfig;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GenerationStageBenchmark {
+
+    @Param({"150", "250", "350"})
+    public int size;
+
+    @Param({"L", "M", "Q", "H"})
+    public String correction;
+
+    @Param({"16", "128", "1024"})
+    public int contentLength;
+
+    private final QRCodeParameterValidator validator =
+            new QRCodeParameterValidator(new QRCodeGenerationMetrics(new SimpleMeterRegistry()));
+    private final QRCodeWriter writer = new QRCodeWriter();
+    private final MatrixToImageConfig imageConfig =
+            new MatrixToImageConfig(BenchmarkFixtures.ON_COLOR, BenchmarkFixtures.OFF_COLOR);
+
+    private String content;
+    private Map<EncodeHintType, Object> hints;
+    private ByteMatrix matrix;
+    private QRCodeRaster raster;
+    private BitMatrix bitMatrix;
+
+    @Setup
+    public void setUp() throws WriterException {
+        content = BenchmarkFixtures.content(contentLength);
+        hints = Map.of(EncodeHintType.ERROR_CORRECTION, correction, EncodeHintType.MARGIN, BenchmarkFixtures.MARGIN);
+        matrix = BenchmarkFixtures.encode(content, correction);
+        raster = new QRCodeRaster(matrix, size, BenchmarkFixtures.MARGIN);
+        bitMatrix = writer.encode(content, BarcodeFormat.QR_CODE, size, size, hints);
+    }
+
+    @Benchmark
+    public GenerationSpec parse() {
+        return validator.parse(content, size, correction, "png", "#000000", "#FFFFFF", BenchmarkFixtures.MARGIN);
+    }
+
+    @Benchmark
+    public ByteMatrix encode() {
+        return BenchmarkFixtures.encode(content, correction);
+    }
+
+    @Benchmark
+    public BufferedImage toBufferedImage() {
+        return ImageUtils.toBufferedImage(raster, BenchmarkFixtures.ON_COLOR, BenchmarkFixtures.OFF_COLOR);
+    }
+
+    @Benchmark
+    public BitMatrix legacyEncode() throws WriterException {
+        return writer.encode(content, BarcodeFormat.QR_CODE, size, size, hints);
+    }
+
+    @Benchmark
+    public BufferedImage legacyToBufferedImage() {
+        return MatrixToImageWriter.toBufferedImage(bitMatrix, imageConfig);
+    }
+
+    @Benchmark
+    public void legacyPipeline(Blackhole blackhole) throws WriterException {
+        BitMatrix scaled = writer.encode(content, BarcodeFormat.QR_CODE, size, size, hints);
+        blackhole.consume(MatrixToImageWriter.toBufferedImage(scaled, imageConfig));
+    }
+
+    @Benchmark
+    public BufferedImage pipeline() {
+        var moduleRaster = new QRCodeRaster(BenchmarkFixtures.encode(content, correction), size, BenchmarkFixtures.MARGIN);
+        return ImageUtils.toBufferedImage(moduleRaster, BenchmarkFixtures.ON_COLOR, BenchmarkFixtures.OFF_COLOR);
+    }
+
+}
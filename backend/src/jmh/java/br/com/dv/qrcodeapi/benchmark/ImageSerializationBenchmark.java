@@ -0,0 +1,53 @@
+package br.com.dv.qrcodeapi.benchmark;
+
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import br.com.dv.qrcodeapi.util.ImageUtils;
+import br.com.dv.qrcodeapi.util.QRCodeRaster;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ImageSerializationBenchmark {
+
+    @Param({"PNG", "JPEG", "GIF"})
+    public ImageFormat format;
+
+    @Param({"150", "250", "350"})
+    public int size;
+
+    @Param({"L", "M", "Q", "H"})
+    public String correction;
+
+    @Param({"16", "128", "1024"})
+    public int contentLength;
+
+    private BufferedImage image;
+
+    @Setup
+    public void setUp() {
+        var raster = new QRCodeRaster(
+                BenchmarkFixtures.encode(BenchmarkFixtures.content(contentLength), correction),
+                size,
+                BenchmarkFixtures.MARGIN
+        );
+        image = ImageUtils.toBufferedImage(raster, BenchmarkFixtures.ON_COLOR, BenchmarkFixtures.OFF_COLOR);
+    }
+
+    @Benchmark
+    public boolean imageIoWrite() throws IOException {
+        return ImageIO.write(image, format.getFormatName(), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] imageIoWriteToByteArray() {
+        return ImageUtils.writeImageToByteArray(image, format);
+    }
+
+}
@@ -0,0 +1,80 @@
+package br.com.dv.qrcodeapi.benchmark;
+
+import br.com.dv.qrcodeapi.security.AuthTokenProperties;
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
+import br.com.dv.qrcodeapi.security.JwtService;
+import br.com.dv.qrcodeapi.security.JwtVerificationCacheProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(UUID.randomUUID(), "benchmark@example.com");
+
+    private SecretKey legacyKey;
+    private String legacyToken;
+    private JwtService uncachedService;
+    private String uncachedToken;
+    private JwtService cachedService;
+    private String cachedToken;
+
+    @Setup
+    public void setUp() {
+        legacyKey = Jwts.SIG.HS256.key().build();
+        legacyToken = Jwts.builder()
+                .subject(USER.email())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(legacyKey)
+                .compact();
+
+        uncachedService = createService(false);
+        uncachedToken = uncachedService.generateToken(USER);
+        cachedService = createService(true);
+        cachedToken = cachedService.generateToken(USER);
+    }
+
+    private static JwtService createService(boolean cacheEnabled) {
+        return new JwtService(
+                new AuthTokenProperties(Duration.ofMinutes(15), Duration.ofDays(14), Duration.ofSeconds(10)),
+                new JwtVerificationCacheProperties(cacheEnabled, 10_000, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String email = parse(legacyToken).getSubject();
+        boolean sameSubject = parse(legacyToken).getSubject().equals(email);
+        return sameSubject && !parse(legacyToken).getExpiration().before(new Date(System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public AuthenticatedUser singleParse() {
+        return uncachedService.extractAuthenticatedUser(uncachedToken);
+    }
+
+    @Benchmark
+    public AuthenticatedUser cachedVerification() {
+        return cachedService.extractAuthenticatedUser(cachedToken);
+    }
+
+    private Claims parse(String token) {
+        return Jwts.parser()
+                .verifyWith(legacyKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+}
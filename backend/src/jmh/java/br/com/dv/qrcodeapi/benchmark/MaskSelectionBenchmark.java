@@ -0,0 +1,56 @@
+package br.com.dv.qrcodeapi.benchmark;
+
+import br.com.dv.qrcodeapi.util.FastMaskEncoder;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MaskSelectionBenchmark {
+
+    @Param({"L", "M", "Q", "H"})
+    public String correction;
+
+    @Param({"16", "128", "1024"})
+    public int contentLength;
+
+    private final QRCodeWriter writer = new QRCodeWriter();
+
+    private String content;
+    private ErrorCorrectionLevel level;
+    private Map<EncodeHintType, Object> hints;
+
+    @Setup
+    public void setUp() {
+        content = BenchmarkFixtures.content(contentLength);
+        level = ErrorCorrectionLevel.valueOf(correction);
+        hints = Map.of(EncodeHintType.ERROR_CORRECTION, level, EncodeHintType.MARGIN, BenchmarkFixtures.MARGIN);
+    }
+
+    @Benchmark
+    public BitMatrix qrCodeWriter() throws WriterException {
+        return writer.encode(content, BarcodeFormat.QR_CODE, 0, 0, hints);
+    }
+
+    @Benchmark
+    public ByteMatrix standardMaskSelection() throws WriterException {
+        return Encoder.encode(content, level).getMatrix();
+    }
+
+    @Benchmark
+    public ByteMatrix fastMaskSelection() throws WriterException {
+        return FastMaskEncoder.encode(content, level);
+    }
+
+}
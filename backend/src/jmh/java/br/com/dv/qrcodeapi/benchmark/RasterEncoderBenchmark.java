@@ -0,0 +1,56 @@
+package br.com.dv.qrcodeapi.benchmark;
+
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import br.com.dv.qrcodeapi.util.ImageUtils;
+import br.com.dv.qrcodeapi.util.QRCodeRaster;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RasterEncoderBenchmark {
+
+    @Param({"PNG", "JPEG", "GIF", "SVG"})
+    public ImageFormat format;
+
+    @Param({"150", "250", "350"})
+    public int size;
+
+    @Param({"L", "M", "Q", "H"})
+    public String correction;
+
+    @Param({"16", "128", "1024"})
+    public int contentLength;
+
+    private QRCodeRaster raster;
+
+    @Setup
+    public void setUp() {
+        raster = new QRCodeRaster(
+                BenchmarkFixtures.encode(BenchmarkFixtures.content(contentLength), correction),
+                size,
+                BenchmarkFixtures.MARGIN
+        );
+    }
+
+    @Benchmark
+    public void writeRaster() throws IOException {
+        ImageUtils.writeRaster(
+                raster,
+                format,
+                BenchmarkFixtures.ON_COLOR,
+                BenchmarkFixtures.OFF_COLOR,
+                OutputStream.nullOutputStream()
+        );
+    }
+
+    @Benchmark
+    public byte[] writeRasterToByteArray() {
+        return ImageUtils.writeRasterToByteArray(raster, format, BenchmarkFixtures.ON_COLOR, BenchmarkFixtures.OFF_COLOR);
+    }
+
+}
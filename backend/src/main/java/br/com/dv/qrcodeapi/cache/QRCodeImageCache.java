@@ -0,0 +1,51 @@
+package br.com.dv.qrcodeapi.cache;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+@Component
+public class QRCodeImageCache {
+
+    private static final String CACHE_NAME = "qrcode.images";
+
+    private final Cache<GenerationSpec, ImageResponse> cache;
+
+    public QRCodeImageCache(
+            QRCodeImageCacheProperties properties,
+            QRCodeImageSlabCache slabCache,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((GenerationSpec key, ImageResponse image) -> weigh(key, image))
+                .evictionListener((GenerationSpec key, ImageResponse image, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && key != null && image != null) {
+                        slabCache.put(key, image);
+                    }
+                })
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public ImageResponse get(GenerationSpec key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(GenerationSpec key, ImageResponse image) {
+        cache.put(key, image);
+    }
+
+    private static int weigh(GenerationSpec key, ImageResponse image) {
+        return image.imageData().length + key.content().length();
+    }
+
+}
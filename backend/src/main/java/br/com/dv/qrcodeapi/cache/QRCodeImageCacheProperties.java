@@ -0,0 +1,13 @@
+package br.com.dv.qrcodeapi.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "qrcode.cache")
+public record QRCodeImageCacheProperties(
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("1h") Duration ttl
+) {}
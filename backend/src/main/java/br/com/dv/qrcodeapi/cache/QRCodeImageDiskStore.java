@@ -0,0 +1,240 @@
+package br.com.dv.qrcodeapi.cache;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class QRCodeImageDiskStore implements DisposableBean {
+
+    private static final String REQUESTS_COUNTER_NAME = "qrcode.disk.store.requests";
+    private static final String WRITE_FAILURES_COUNTER_NAME = "qrcode.disk.store.write.failures";
+    private static final String EVICTIONS_COUNTER_NAME = "qrcode.disk.store.evictions";
+    private static final String SWEEP_THREAD_NAME_PREFIX = "qrcode-disk-sweep-";
+    private static final Duration TEMP_FILE_MAX_AGE = Duration.ofMinutes(1);
+    private static final String RESULT_TAG = "result";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final int SHARD_LENGTH = 2;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxSizeBytes;
+    private final Duration ttl;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter writeFailureCounter;
+    private final Counter evictionCounter;
+    private final ScheduledExecutorService sweeper;
+
+    public QRCodeImageDiskStore(QRCodeImageDiskStoreProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.directory = Path.of(properties.directory()).toAbsolutePath();
+        this.maxSizeBytes = properties.maxSize().toBytes();
+        this.ttl = properties.ttl();
+        this.hitCounter = meterRegistry.counter(REQUESTS_COUNTER_NAME, RESULT_TAG, "hit");
+        this.missCounter = meterRegistry.counter(REQUESTS_COUNTER_NAME, RESULT_TAG, "miss");
+        this.writeFailureCounter = meterRegistry.counter(WRITE_FAILURES_COUNTER_NAME);
+        this.evictionCounter = meterRegistry.counter(EVICTIONS_COUNTER_NAME);
+        this.sweeper = enabled && properties.sweepInterval().isPositive()
+                ? startSweeper(properties.sweepInterval())
+                : null;
+    }
+
+    public StoredImage find(GenerationSpec key) {
+        if (!enabled) {
+            return null;
+        }
+
+        StoredImage image = readAttributes(resolve(key.hash()));
+        if (image == null) {
+            missCounter.increment();
+        } else {
+            hitCounter.increment();
+        }
+
+        return image;
+    }
+
+    public byte[] read(StoredImage image) {
+        try {
+            return Files.readAllBytes(image.path());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public FileChannel open(StoredImage image) {
+        try {
+            return FileChannel.open(image.path(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public void store(GenerationSpec key, byte[] imageData) {
+        if (!enabled) {
+            return;
+        }
+
+        Path path = resolve(key.hash());
+        Path tempFile = null;
+        try {
+            Files.createDirectories(path.getParent());
+            tempFile = Files.createTempFile(path.getParent(), path.getFileName().toString(), TEMP_FILE_SUFFIX);
+            Files.write(tempFile, imageData);
+            moveIntoPlace(tempFile, path);
+        } catch (IOException e) {
+            writeFailureCounter.increment();
+            deleteQuietly(tempFile);
+        }
+    }
+
+    public void sweep() {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        List<StoredImage> images = new ArrayList<>();
+        long totalSize = 0;
+
+        for (SweptFile file : listFiles()) {
+            if (file.path().getFileName().toString().endsWith(TEMP_FILE_SUFFIX)) {
+                if (isOlderThan(file.lastModified(), now, TEMP_FILE_MAX_AGE)) {
+                    deleteQuietly(file.path());
+                }
+            } else if (isOlderThan(file.lastModified(), now, ttl)) {
+                evict(file.path());
+            } else {
+                images.add(new StoredImage(file.path(), file.size()));
+                totalSize += file.size();
+            }
+        }
+
+        for (StoredImage image : images) {
+            if (totalSize <= maxSizeBytes) {
+                break;
+            }
+            evict(image.path());
+            totalSize -= image.size();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private ScheduledExecutorService startSweeper(Duration interval) {
+        var threadFactory = new CustomizableThreadFactory(SWEEP_THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        executor.scheduleWithFixedDelay(this::sweep, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    private List<SweptFile> listFiles() {
+        List<SweptFile> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (attributes.isRegularFile()) {
+                        files.add(new SweptFile(file, attributes.size(), attributes.lastModifiedTime()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            return files;
+        }
+
+        files.sort(Comparator.comparing(SweptFile::lastModified));
+        return files;
+    }
+
+    private boolean isOlderThan(FileTime lastModified, Instant now, Duration age) {
+        return lastModified.toInstant().plus(age).isBefore(now);
+    }
+
+    private void evict(Path path) {
+        try {
+            if (Files.deleteIfExists(path)) {
+                evictionCounter.increment();
+            }
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    private StoredImage readAttributes(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.isRegularFile() ? new StoredImage(path, attributes.size()) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Path resolve(String hash) {
+        return directory
+                .resolve(hash.substring(0, SHARD_LENGTH))
+                .resolve(hash.substring(SHARD_LENGTH, SHARD_LENGTH * 2))
+                .resolve(hash);
+    }
+
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    public record StoredImage(Path path, long size) {}
+
+    private record SweptFile(Path path, long size, FileTime lastModified) {}
+
+}
@@ -0,0 +1,16 @@
+package br.com.dv.qrcodeapi.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "qrcode.disk-store")
+public record QRCodeImageDiskStoreProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("qrcode-images") String directory,
+        @DefaultValue("1GB") DataSize maxSize,
+        @DefaultValue("30d") Duration ttl,
+        @DefaultValue("1h") Duration sweepInterval
+) {}
@@ -0,0 +1,244 @@
+package br.com.dv.qrcodeapi.cache;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class QRCodeImageSlabCache {
+
+    private static final String METRIC_PREFIX = "qrcode.slab.";
+    private static final String RESULT_TAG = "result";
+
+    private final boolean enabled;
+    private final int slotSize;
+    private final int slotCount;
+    private final ByteBuffer slab;
+    private final Entry[] slotOwners;
+    private final int[] freeSlots;
+    private final Map<GenerationSpec, Entry> index = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Counter rejectionCounter;
+
+    private int freeCount;
+    private int clockHand;
+    private long usedBytes;
+
+    public QRCodeImageSlabCache(QRCodeImageSlabProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.slotSize = (int) properties.slotSize().toBytes();
+        this.slotCount = enabled ? (int) Math.min(properties.capacity().toBytes(), Integer.MAX_VALUE) / slotSize : 0;
+        this.slab = ByteBuffer.allocateDirect(slotCount * slotSize);
+        this.slotOwners = new Entry[slotCount];
+        this.freeSlots = new int[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            freeSlots[slot] = slotCount - 1 - slot;
+        }
+        this.freeCount = slotCount;
+
+        this.hitCounter = meterRegistry.counter(METRIC_PREFIX + "requests", RESULT_TAG, "hit");
+        this.missCounter = meterRegistry.counter(METRIC_PREFIX + "requests", RESULT_TAG, "miss");
+        this.evictionCounter = meterRegistry.counter(METRIC_PREFIX + "evictions");
+        this.rejectionCounter = meterRegistry.counter(METRIC_PREFIX + "rejections");
+        Gauge.builder(METRIC_PREFIX + "slots.total", this, cache -> cache.slotCount)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "slots.used", this, cache -> cache.slotCount - cache.freeCount)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "entries", this, cache -> cache.index.size())
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "used", this, cache -> cache.usedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public SlabImage get(GenerationSpec key) {
+        if (!enabled) {
+            return null;
+        }
+
+        lock.lock();
+        try {
+            Entry entry = index.get(key);
+            if (entry == null) {
+                missCounter.increment();
+                return null;
+            }
+
+            entry.referenced = true;
+            entry.pins++;
+            hitCounter.increment();
+            return new SlabImage(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(GenerationSpec key, ImageResponse image) {
+        if (!enabled) {
+            return;
+        }
+
+        byte[] data = image.imageData();
+        int slotsNeeded = Math.max(1, (data.length + slotSize - 1) / slotSize);
+
+        lock.lock();
+        try {
+            Entry existing = index.get(key);
+            if (existing != null) {
+                existing.referenced = true;
+                return;
+            }
+
+            if (slotsNeeded > slotCount || !reserve(slotsNeeded)) {
+                rejectionCounter.increment();
+                return;
+            }
+
+            Entry entry = new Entry(key, new int[slotsNeeded], data.length, image.mediaType());
+            for (int i = 0; i < slotsNeeded; i++) {
+                int slot = freeSlots[--freeCount];
+                int offset = i * slotSize;
+                entry.slots[i] = slot;
+                slotOwners[slot] = entry;
+                slab.put(slot * slotSize, data, offset, Math.min(slotSize, data.length - offset));
+            }
+
+            index.put(key, entry);
+            usedBytes += data.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean reserve(int slotsNeeded) {
+        while (freeCount < slotsNeeded) {
+            if (!evictOne()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean evictOne() {
+        for (int scanned = 0; scanned < slotCount * 2; scanned++) {
+            Entry owner = slotOwners[clockHand];
+            clockHand = (clockHand + 1) % slotCount;
+
+            if (owner == null || owner.pins > 0) {
+                continue;
+            }
+            if (owner.referenced) {
+                owner.referenced = false;
+                continue;
+            }
+
+            remove(owner);
+            evictionCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void remove(Entry entry) {
+        index.remove(entry.key);
+        for (int slot : entry.slots) {
+            slotOwners[slot] = null;
+            freeSlots[freeCount++] = slot;
+        }
+        usedBytes -= entry.length;
+    }
+
+    private void unpin(Entry entry) {
+        lock.lock();
+        try {
+            entry.pins--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry {
+
+        private final GenerationSpec key;
+        private final int[] slots;
+        private final int length;
+        private final MediaType mediaType;
+        private boolean referenced;
+        private int pins;
+
+        private Entry(GenerationSpec key, int[] slots, int length, MediaType mediaType) {
+            this.key = key;
+            this.slots = slots;
+            this.length = length;
+            this.mediaType = mediaType;
+        }
+
+    }
+
+    public final class SlabImage implements Closeable {
+
+        private final Entry entry;
+        private boolean closed;
+
+        private SlabImage(Entry entry) {
+            this.entry = entry;
+        }
+
+        public MediaType mediaType() {
+            return entry.mediaType;
+        }
+
+        public int length() {
+            return entry.length;
+        }
+
+        public void writeTo(OutputStream outputStream) throws IOException {
+            WritableByteChannel channel = Channels.newChannel(outputStream);
+            for (int i = 0; i < entry.slots.length; i++) {
+                ByteBuffer chunk = slab.slice(entry.slots[i] * slotSize, chunkLength(i));
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            }
+        }
+
+        public byte[] toByteArray() {
+            byte[] data = new byte[entry.length];
+            for (int i = 0; i < entry.slots.length; i++) {
+                slab.get(entry.slots[i] * slotSize, data, i * slotSize, chunkLength(i));
+            }
+            return data;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                unpin(entry);
+            }
+        }
+
+        private int chunkLength(int chunk) {
+            return Math.min(slotSize, entry.length - chunk * slotSize);
+        }
+
+    }
+
+}
@@ -0,0 +1,12 @@
+package br.com.dv.qrcodeapi.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "qrcode.slab")
+public record QRCodeImageSlabProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64MB") DataSize capacity,
+        @DefaultValue("4KB") DataSize slotSize
+) {}
@@ -0,0 +1,15 @@
+package br.com.dv.qrcodeapi.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "qrcode.prerender")
+public record SavedQRCodeImageProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32MB") DataSize maxSize,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("64") int queueCapacity
+) {}
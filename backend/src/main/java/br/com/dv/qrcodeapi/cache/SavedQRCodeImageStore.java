@@ -0,0 +1,56 @@
+package br.com.dv.qrcodeapi.cache;
+
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Component
+public class SavedQRCodeImageStore {
+
+    private static final String CACHE_NAME = "qrcode.saved.images";
+
+    private final Cache<UUID, SavedImage> cache;
+
+    public SavedQRCodeImageStore(SavedQRCodeImageProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((UUID id, SavedImage image) -> image.image().imageData().length)
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public ImageResponse get(UUID id, LocalDateTime version) {
+        SavedImage saved = cache.getIfPresent(id);
+        return saved != null && Objects.equals(saved.version(), version) ? saved.image() : null;
+    }
+
+    public void put(UUID id, LocalDateTime version, ImageResponse image) {
+        cache.asMap().compute(id, (key, existing) -> isNewer(existing, version)
+                ? existing
+                : new SavedImage(version, image));
+    }
+
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+    }
+
+    private static boolean isNewer(SavedImage existing, LocalDateTime version) {
+        return existing != null
+                && existing.version() != null
+                && version != null
+                && existing.version().isAfter(version);
+    }
+
+    private record SavedImage(LocalDateTime version, ImageResponse image) {}
+
+}
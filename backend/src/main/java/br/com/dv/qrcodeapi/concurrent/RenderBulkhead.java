@@ -0,0 +1,231 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.enums.RenderLane;
+import br.com.dv.qrcodeapi.exception.RenderCapacityExceededException;
+import br.com.dv.qrcodeapi.exception.RenderDeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+
+@Component
+public class RenderBulkhead {
+
+    private static final String METRIC_PREFIX = "qrcode.bulkhead.";
+    private static final String REASON_TAG = "reason";
+    private static final String LANE_TAG = "lane";
+    private static final long BYTES_PER_PIXEL = Integer.BYTES;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<RenderLane, LaneState> lanes = new EnumMap<>(RenderLane.class);
+    private final LaneState interactive;
+    private final int maxConcurrent;
+    private final long memoryBudget;
+    private final long retryAfterSeconds;
+    private int active;
+    private long memoryInUse;
+
+    public RenderBulkhead(RenderBulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.maxConcurrent = properties.effectiveMaxConcurrent();
+        this.memoryBudget = properties.memoryBudget().toBytes();
+        this.retryAfterSeconds = Math.max(1, properties.retryAfter().toSeconds());
+        this.interactive = new LaneState(
+                RenderLane.INTERACTIVE,
+                maxConcurrent,
+                memoryBudget,
+                properties.maxQueued(),
+                properties.maxWait().toNanos(),
+                meterRegistry
+        );
+        lanes.put(RenderLane.INTERACTIVE, interactive);
+        lanes.put(RenderLane.BULK, new LaneState(
+                RenderLane.BULK,
+                properties.bulkMaxConcurrent(),
+                properties.bulkMemoryBudget(),
+                Integer.MAX_VALUE,
+                properties.bulkMaxWait().toNanos(),
+                meterRegistry
+        ));
+        Gauge.builder(METRIC_PREFIX + "memory.used", this, bulkhead -> bulkhead.locked(() -> bulkhead.memoryInUse))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public Permit acquire(GenerationSpec spec, RenderLane lane, RenderDeadline deadline) {
+        LaneState state = lanes.get(lane);
+        long cost = estimateMemory(spec);
+        long startNanos = System.nanoTime();
+
+        lock.lock();
+        try {
+            if (state.queued == 0 && mayStart(state, cost)) {
+                return admit(state, cost, startNanos);
+            }
+
+            if (state.queued >= state.maxQueued) {
+                state.queueFullCounter.increment();
+                throw new RenderCapacityExceededException(retryAfterSeconds);
+            }
+
+            state.queued++;
+            try {
+                long remainingNanos = Math.min(state.maxWaitNanos, deadline.remainingNanos());
+                while (!mayStart(state, cost)) {
+                    if (remainingNanos <= 0) {
+                        if (deadline.isExpired()) {
+                            state.deadlineCounter.increment();
+                            throw new RenderDeadlineExceededException();
+                        }
+                        state.timedOutCounter.increment();
+                        throw new RenderCapacityExceededException(retryAfterSeconds);
+                    }
+                    remainingNanos = released.awaitNanos(remainingNanos);
+                }
+                return admit(state, cost, startNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                state.timedOutCounter.increment();
+                throw new RenderCapacityExceededException(retryAfterSeconds);
+            } finally {
+                state.queued--;
+                if (state == interactive) {
+                    released.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long estimateMemory(GenerationSpec spec) {
+        return (long) spec.size() * spec.size() * BYTES_PER_PIXEL;
+    }
+
+    private boolean mayStart(LaneState state, long cost) {
+        return (state == interactive || interactive.queued == 0) && canAdmit(state, cost);
+    }
+
+    private boolean canAdmit(LaneState state, long cost) {
+        return active < maxConcurrent
+                && state.active < state.maxConcurrent
+                && (active == 0 || memoryInUse + cost <= memoryBudget)
+                && (state.active == 0 || state.memoryInUse + cost <= state.memoryBudget);
+    }
+
+    private Permit admit(LaneState state, long cost, long startNanos) {
+        active++;
+        memoryInUse += cost;
+        state.active++;
+        state.memoryInUse += cost;
+        state.queueTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return new Permit(state, cost);
+    }
+
+    private void release(LaneState state, long cost) {
+        lock.lock();
+        try {
+            active--;
+            memoryInUse -= cost;
+            state.active--;
+            state.memoryInUse -= cost;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double locked(DoubleSupplier supplier) {
+        lock.lock();
+        try {
+            return supplier.getAsDouble();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class LaneState {
+
+        private final int maxConcurrent;
+        private final long memoryBudget;
+        private final int maxQueued;
+        private final long maxWaitNanos;
+        private final Counter queueFullCounter;
+        private final Counter timedOutCounter;
+        private final Counter deadlineCounter;
+        private final Timer queueTimer;
+        private int active;
+        private int queued;
+        private long memoryInUse;
+
+        private LaneState(
+                RenderLane lane,
+                int maxConcurrent,
+                long memoryBudget,
+                int maxQueued,
+                long maxWaitNanos,
+                MeterRegistry meterRegistry
+        ) {
+            this.maxConcurrent = maxConcurrent;
+            this.memoryBudget = memoryBudget;
+            this.maxQueued = maxQueued;
+            this.maxWaitNanos = maxWaitNanos;
+            String laneTag = lane.getTagValue();
+            this.queueFullCounter = meterRegistry.counter(
+                    METRIC_PREFIX + "rejections", LANE_TAG, laneTag, REASON_TAG, "queue_full"
+            );
+            this.timedOutCounter = meterRegistry.counter(
+                    METRIC_PREFIX + "rejections", LANE_TAG, laneTag, REASON_TAG, "timeout"
+            );
+            this.deadlineCounter = meterRegistry.counter(
+                    METRIC_PREFIX + "rejections", LANE_TAG, laneTag, REASON_TAG, "deadline"
+            );
+            this.queueTimer = Timer.builder(METRIC_PREFIX + "queue.time")
+                    .tag(LANE_TAG, laneTag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + "active", this, state -> locked(() -> state.active))
+                    .tag(LANE_TAG, laneTag)
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + "queued", this, state -> locked(() -> state.queued))
+                    .tag(LANE_TAG, laneTag)
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + "max.concurrent", () -> maxConcurrent)
+                    .tag(LANE_TAG, laneTag)
+                    .register(meterRegistry);
+        }
+
+    }
+
+    public final class Permit implements AutoCloseable {
+
+        private final LaneState state;
+        private final long cost;
+        private boolean closed;
+
+        private Permit(LaneState state, long cost) {
+            this.state = state;
+            this.cost = cost;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            release(state, cost);
+        }
+
+    }
+
+}
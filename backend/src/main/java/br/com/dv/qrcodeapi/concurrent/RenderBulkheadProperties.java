@@ -0,0 +1,42 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "qrcode.bulkhead")
+public record RenderBulkheadProperties(
+        @DefaultValue("0") int maxConcurrent,
+        @DefaultValue("2") int queuedPerPermit,
+        @DefaultValue("2s") Duration maxWait,
+        @DefaultValue("64MB") DataSize memoryBudget,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue("25") int interactiveReservedPercent,
+        @DefaultValue("30s") Duration bulkMaxWait
+) {
+
+    public int effectiveMaxConcurrent() {
+        return maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int maxQueued() {
+        return effectiveMaxConcurrent() * Math.max(0, queuedPerPermit);
+    }
+
+    public int bulkMaxConcurrent() {
+        int max = effectiveMaxConcurrent();
+        int reserved = (int) Math.ceil(max * clampPercent(interactiveReservedPercent) / 100.0);
+        return Math.max(1, max - reserved);
+    }
+
+    public long bulkMemoryBudget() {
+        return memoryBudget.toBytes() * (100 - clampPercent(interactiveReservedPercent)) / 100;
+    }
+
+    private static int clampPercent(int percent) {
+        return Math.min(100, Math.max(0, percent));
+    }
+
+}
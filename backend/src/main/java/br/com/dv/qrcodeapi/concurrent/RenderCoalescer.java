@@ -0,0 +1,99 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class RenderCoalescer {
+
+    private static final String METRIC_PREFIX = "qrcode.coalescing.";
+    private static final String REASON_TAG = "reason";
+
+    private final ConcurrentMap<GenerationSpec, CompletableFuture<ImageResponse>> flights = new ConcurrentHashMap<>();
+    private final long waitTimeoutNanos;
+    private final Counter avoidedCounter;
+    private final Counter failedFallbackCounter;
+    private final Counter timedOutFallbackCounter;
+
+    public RenderCoalescer(RenderCoalescerProperties properties, MeterRegistry meterRegistry) {
+        this.waitTimeoutNanos = properties.waitTimeout().toNanos();
+        this.avoidedCounter = meterRegistry.counter(METRIC_PREFIX + "renders.avoided");
+        this.failedFallbackCounter = meterRegistry.counter(METRIC_PREFIX + "fallbacks", REASON_TAG, "failed");
+        this.timedOutFallbackCounter = meterRegistry.counter(METRIC_PREFIX + "fallbacks", REASON_TAG, "timeout");
+        Gauge.builder(METRIC_PREFIX + "in.flight", flights, ConcurrentMap::size)
+                .register(meterRegistry);
+    }
+
+    public Lease acquire(GenerationSpec key) {
+        var flight = new CompletableFuture<ImageResponse>();
+        CompletableFuture<ImageResponse> existing = flights.putIfAbsent(key, flight);
+        return existing == null ? new Lease(key, flight, true) : new Lease(key, existing, false);
+    }
+
+    public Lease detached(GenerationSpec key) {
+        return new Lease(key, new CompletableFuture<>(), true);
+    }
+
+    public final class Lease {
+
+        private final GenerationSpec key;
+        private final CompletableFuture<ImageResponse> flight;
+        private final boolean leader;
+
+        private Lease(GenerationSpec key, CompletableFuture<ImageResponse> flight, boolean leader) {
+            this.key = key;
+            this.flight = flight;
+            this.leader = leader;
+        }
+
+        public boolean isLeader() {
+            return leader;
+        }
+
+        public ImageResponse await(RenderDeadline deadline) {
+            try {
+                ImageResponse image = flight.get(
+                        Math.min(waitTimeoutNanos, deadline.remainingNanos()),
+                        TimeUnit.NANOSECONDS
+                );
+                avoidedCounter.increment();
+                return image;
+            } catch (TimeoutException e) {
+                if (deadline.isExpired()) {
+                    return null;
+                }
+                flights.remove(key, flight);
+                timedOutFallbackCounter.increment();
+            } catch (ExecutionException e) {
+                failedFallbackCounter.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedFallbackCounter.increment();
+            }
+            return null;
+        }
+
+        public void complete(ImageResponse image) {
+            flights.remove(key, flight);
+            flight.complete(image);
+        }
+
+        public void fail(Throwable cause) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(cause);
+        }
+
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "qrcode.coalescing")
+public record RenderCoalescerProperties(@DefaultValue("5s") Duration waitTimeout) {}
@@ -0,0 +1,48 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import java.time.Duration;
+
+public final class RenderDeadline {
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+    private final RenderDeadline parent;
+    private volatile boolean cancelled;
+
+    private RenderDeadline(long expiresAtNanos, boolean bounded, RenderDeadline parent) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+        this.parent = parent;
+    }
+
+    public static RenderDeadline none() {
+        return new RenderDeadline(0, false, null);
+    }
+
+    public static RenderDeadline after(Duration timeout) {
+        return new RenderDeadline(System.nanoTime() + timeout.toNanos(), true, null);
+    }
+
+    public RenderDeadline within(Duration timeout) {
+        return new RenderDeadline(System.nanoTime() + timeout.toNanos(), true, this);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isExpired() {
+        return cancelled
+                || (bounded && System.nanoTime() - expiresAtNanos >= 0)
+                || (parent != null && parent.isExpired());
+    }
+
+    public long remainingNanos() {
+        if (cancelled) {
+            return 0;
+        }
+        long remaining = bounded ? Math.max(0, expiresAtNanos - System.nanoTime()) : Long.MAX_VALUE;
+        return parent != null ? Math.min(remaining, parent.remainingNanos()) : remaining;
+    }
+
+}
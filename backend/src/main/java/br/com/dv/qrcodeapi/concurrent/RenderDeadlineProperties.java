@@ -0,0 +1,42 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "qrcode.deadline")
+public record RenderDeadlineProperties(
+        @DefaultValue("X-Render-Timeout-Ms") String header,
+        @DefaultValue("10s") Duration interactiveTimeout,
+        @DefaultValue("30s") Duration batchItemTimeout,
+        @DefaultValue("30m") Duration maxTimeout
+) {
+
+    public RenderDeadline deadlineFor(String headerValue, Duration defaultTimeout) {
+        return RenderDeadline.after(capped(parseTimeout(headerValue, defaultTimeout)));
+    }
+
+    public RenderDeadline batchDeadlineFor(String headerValue) {
+        Duration timeout = parseTimeout(headerValue, null);
+        return timeout != null ? RenderDeadline.after(capped(timeout)) : RenderDeadline.none();
+    }
+
+    private Duration capped(Duration timeout) {
+        return timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout;
+    }
+
+    private static Duration parseTimeout(String headerValue, Duration defaultTimeout) {
+        if (headerValue == null) {
+            return defaultTimeout;
+        }
+
+        try {
+            long millis = Long.parseLong(headerValue.trim());
+            return millis > 0 ? Duration.ofMillis(millis) : defaultTimeout;
+        } catch (NumberFormatException e) {
+            return defaultTimeout;
+        }
+    }
+
+}
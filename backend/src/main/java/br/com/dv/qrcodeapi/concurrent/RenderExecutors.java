@@ -0,0 +1,54 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import br.com.dv.qrcodeapi.cache.SavedQRCodeImageProperties;
+import br.com.dv.qrcodeapi.service.QRCodeBatchProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RenderExecutors implements DisposableBean {
+
+    private static final String BULK_THREAD_NAME_PREFIX = "qrcode-bulk-";
+    private static final String PRERENDER_THREAD_NAME_PREFIX = "qrcode-prerender-";
+
+    private final ExecutorService bulkExecutor;
+    private final ExecutorService prerenderExecutor;
+
+    public RenderExecutors(QRCodeBatchProperties batchProperties, SavedQRCodeImageProperties prerenderProperties) {
+        this.bulkExecutor = Executors.newFixedThreadPool(
+                batchProperties.effectiveParallelism(),
+                new CustomizableThreadFactory(BULK_THREAD_NAME_PREFIX)
+        );
+        this.prerenderExecutor = new ThreadPoolExecutor(
+                1,
+                1,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, prerenderProperties.queueCapacity())),
+                new CustomizableThreadFactory(PRERENDER_THREAD_NAME_PREFIX),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public ExecutorService getBulkExecutor() {
+        return bulkExecutor;
+    }
+
+    public ExecutorService getPrerenderExecutor() {
+        return prerenderExecutor;
+    }
+
+    @Override
+    public void destroy() {
+        bulkExecutor.shutdownNow();
+        prerenderExecutor.shutdownNow();
+    }
+
+}
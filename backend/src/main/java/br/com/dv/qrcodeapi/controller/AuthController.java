@@ -4,68 +4,128 @@ import br.com.dv.qrcodeapi.dto.LoginResponse;
 import br.com.dv.qrcodeapi.dto.RegisterResponse;
 import br.com.dv.qrcodeapi.dto.LoginRequest;
 import br.com.dv.qrcodeapi.dto.RegisterRequest;
+import br.com.dv.qrcodeapi.dto.RotatedRefreshToken;
+import br.com.dv.qrcodeapi.security.AuthTokenProperties;
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
 import br.com.dv.qrcodeapi.security.JwtService;
+import br.com.dv.qrcodeapi.security.LoginRateLimiter;
 import br.com.dv.qrcodeapi.service.AppUserServiceImpl;
+import br.com.dv.qrcodeapi.service.RefreshTokenService;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private static final String TOKEN_COOKIE = "token";
+    private static final String TOKEN_COOKIE_PATH = "/";
+    private static final String REFRESH_TOKEN_COOKIE = "refresh_token";
+    private static final String REFRESH_TOKEN_COOKIE_PATH = "/api/auth";
+    private static final String USER_LOGGED_IN_MESSAGE = "User logged in successfully";
+    private static final String SESSION_REFRESHED_MESSAGE = "Session refreshed successfully";
 
     private final AppUserServiceImpl appUserService;
     private final JwtService jwtService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final RefreshTokenService refreshTokenService;
+    private final AuthTokenProperties tokenProperties;
 
-    public AuthController(AppUserServiceImpl appUserService, JwtService jwtService) {
+    public AuthController(
+            AppUserServiceImpl appUserService,
+            JwtService jwtService,
+            LoginRateLimiter loginRateLimiter,
+            RefreshTokenService refreshTokenService,
+            AuthTokenProperties tokenProperties
+    ) {
         this.appUserService = appUserService;
         this.jwtService = jwtService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenProperties = tokenProperties;
     }
 
     @PostMapping("/register")
-    public ResponseEntity<RegisterResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<RegisterResponse> register(
+            @Valid @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        loginRateLimiter.checkRegistration(httpRequest.getRemoteAddr());
         return ResponseEntity.ok(appUserService.register(request));
     }
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(
             @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest,
             HttpServletResponse response
     ) {
-        LoginResponse loginResponse = appUserService.login(request);
+        loginRateLimiter.checkLogin(httpRequest.getRemoteAddr(), request.email());
+        AuthenticatedUser user = appUserService.login(request);
+        loginRateLimiter.recordSuccessfulLogin(request.email());
 
-        String token = jwtService.generateToken(request.email());
-        
-        Cookie cookie = new Cookie(TOKEN_COOKIE, token);
-        cookie.setHttpOnly(true);
-        cookie.setSecure(true);
-        cookie.setPath("/");
-        cookie.setMaxAge(24 * 60 * 60);
-        cookie.setAttribute("SameSite", "Lax");
+        addSessionCookies(response, user, refreshTokenService.issue(user.id()));
 
-        response.addCookie(cookie);
-        
-        return ResponseEntity.ok(loginResponse);
+        return ResponseEntity.ok(new LoginResponse(USER_LOGGED_IN_MESSAGE));
     }
 
-    @PostMapping("/logout") 
-    public ResponseEntity<Void> logout(HttpServletResponse response) {
-        Cookie cookie = new Cookie(TOKEN_COOKIE, null);
-        cookie.setHttpOnly(true);
-        cookie.setSecure(true);
-        cookie.setPath("/");
-        cookie.setMaxAge(0);
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(
+            @CookieValue(name = REFRESH_TOKEN_COOKIE, required = false) String refreshToken,
+            HttpServletResponse response
+    ) {
+        RotatedRefreshToken rotated = refreshTokenService.rotate(refreshToken);
+        addSessionCookies(response, rotated.user(), rotated.refreshToken());
+
+        return ResponseEntity.ok(new LoginResponse(SESSION_REFRESHED_MESSAGE));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @CookieValue(name = REFRESH_TOKEN_COOKIE, required = false) String refreshToken,
+            HttpServletResponse response
+    ) {
+        refreshTokenService.revoke(refreshToken);
+
+        response.addCookie(createCookie(TOKEN_COOKIE, null, TOKEN_COOKIE_PATH, Duration.ZERO));
+        response.addCookie(createCookie(REFRESH_TOKEN_COOKIE, null, REFRESH_TOKEN_COOKIE_PATH, Duration.ZERO));
 
-        response.addCookie(cookie);
-        
         return ResponseEntity.ok().build();
     }
 
+    private void addSessionCookies(HttpServletResponse response, AuthenticatedUser user, String refreshToken) {
+        response.addCookie(createCookie(
+                TOKEN_COOKIE,
+                jwtService.generateToken(user),
+                TOKEN_COOKIE_PATH,
+                tokenProperties.accessTokenTtl()
+        ));
+        response.addCookie(createCookie(
+                REFRESH_TOKEN_COOKIE,
+                refreshToken,
+                REFRESH_TOKEN_COOKIE_PATH,
+                tokenProperties.refreshTokenTtl()
+        ));
+    }
+
+    private static Cookie createCookie(String name, String value, String path, Duration maxAge) {
+        Cookie cookie = new Cookie(name, value);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(true);
+        cookie.setPath(path);
+        cookie.setMaxAge((int) maxAge.toSeconds());
+        cookie.setAttribute("SameSite", "Lax");
+        return cookie;
+    }
+
 }
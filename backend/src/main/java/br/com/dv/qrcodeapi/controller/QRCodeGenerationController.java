@@ -1,51 +1,180 @@
 package br.com.dv.qrcodeapi.controller;
 
-import br.com.dv.qrcodeapi.dto.ImageResponse;
+import br.com.dv.qrcodeapi.concurrent.RenderDeadline;
+import br.com.dv.qrcodeapi.concurrent.RenderDeadlineProperties;
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageStreamResponse;
+import br.com.dv.qrcodeapi.exception.InvalidBatchRequestException;
+import br.com.dv.qrcodeapi.service.CsvGenerationRequestReader;
+import br.com.dv.qrcodeapi.service.QRCodeBatchService;
 import br.com.dv.qrcodeapi.service.QRCodeGenerationService;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 @RequestMapping("/api/qrcode/generate")
 @RestController
 public class QRCodeGenerationController {
 
+    private static final String IMAGE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable()
+            .getHeaderValue();
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
+    private static final String CSV_CONTENT_TYPE = "text/csv";
+    private static final String BATCH_FILENAME = "qrcodes.zip";
+
     private final QRCodeGenerationService qrCodeGenerationService;
+    private final QRCodeParameterValidator qrCodeParameterValidator;
+    private final QRCodeBatchService qrCodeBatchService;
+    private final RenderDeadlineProperties deadlineProperties;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader generationRequestReader;
 
-    public QRCodeGenerationController(QRCodeGenerationService qrCodeGenerationService) {
+    public QRCodeGenerationController(
+            QRCodeGenerationService qrCodeGenerationService,
+            QRCodeParameterValidator qrCodeParameterValidator,
+            QRCodeBatchService qrCodeBatchService,
+            RenderDeadlineProperties deadlineProperties,
+            ObjectMapper objectMapper
+    ) {
         this.qrCodeGenerationService = qrCodeGenerationService;
+        this.qrCodeParameterValidator = qrCodeParameterValidator;
+        this.qrCodeBatchService = qrCodeBatchService;
+        this.deadlineProperties = deadlineProperties;
+        this.objectMapper = objectMapper;
+        this.generationRequestReader = objectMapper.readerFor(GenerationRequest.class);
     }
 
     @GetMapping
-    public ResponseEntity<byte[]> generateQrCode(
+    public void generateQrCode(
             @RequestParam(name = "contents") String content,
             @RequestParam(required = false, defaultValue = "250") int size,
             @RequestParam(required = false, defaultValue = "L") String correction,
             @RequestParam(name = "type", required = false, defaultValue = "png") String format,
             @RequestParam(required = false, defaultValue = "#000000") String fcolor,
             @RequestParam(required = false, defaultValue = "#FFFFFF") String bcolor,
-            @RequestParam(required = false, defaultValue = "4") int margin
-    ) {
-        ImageResponse response = qrCodeGenerationService.generateQRCode(
-                content,
-                size,
-                correction,
-                format,
-                URLDecoder.decode(fcolor, StandardCharsets.UTF_8),
-                URLDecoder.decode(bcolor, StandardCharsets.UTF_8),
-                margin
+            @RequestParam(required = false, defaultValue = "4") int margin,
+            @RequestParam(required = false) String mask,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String decodedFcolor = URLDecoder.decode(fcolor, StandardCharsets.UTF_8);
+        String decodedBcolor = URLDecoder.decode(bcolor, StandardCharsets.UTF_8);
+
+        GenerationSpec spec = qrCodeParameterValidator.parse(
+                content, size, correction, format, decodedFcolor, decodedBcolor, margin, mask
+        );
+
+        if (webRequest.checkNotModified(spec.eTag())) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMAGE_CACHE_CONTROL);
+            return;
+        }
+
+        RenderDeadline deadline = deadlineFor(request, deadlineProperties.interactiveTimeout());
+        try (ImageStreamResponse image = qrCodeGenerationService.streamQRCode(spec, deadline)) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMAGE_CACHE_CONTROL);
+            response.setContentType(image.mediaType().toString());
+            if (image.hasContentLength()) {
+                response.setContentLengthLong(image.contentLength());
+            }
+
+            if (image.isFileBacked() && isSendfileSupported(request)) {
+                request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, image.file().toString());
+                request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+                request.setAttribute(SENDFILE_END_ATTRIBUTE, image.contentLength());
+                return;
+            }
+
+            image.body().writeTo(response.getOutputStream());
+        }
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void generateBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RenderDeadline deadline = batchDeadlineFor(request);
+        MappingIterator<GenerationRequest> requests = readGenerationRequests(request.getInputStream());
+
+        try (requests) {
+            prepareZipResponse(response);
+            qrCodeBatchService.writeZip(requests, response.getOutputStream(), deadline);
+        }
+    }
+
+    @PostMapping(value = "/csv", consumes = CSV_CONTENT_TYPE)
+    public void generateFromCsv(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RenderDeadline deadline = batchDeadlineFor(request);
+        var reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+
+        try (var requests = new CsvGenerationRequestReader(reader)) {
+            prepareZipResponse(response);
+            qrCodeBatchService.writeZip(requests, response.getOutputStream(), deadline);
+        }
+    }
+
+    private RenderDeadline deadlineFor(HttpServletRequest request, Duration defaultTimeout) {
+        return deadlineProperties.deadlineFor(request.getHeader(deadlineProperties.header()), defaultTimeout);
+    }
+
+    private RenderDeadline batchDeadlineFor(HttpServletRequest request) {
+        return deadlineProperties.batchDeadlineFor(request.getHeader(deadlineProperties.header()));
+    }
+
+    private void prepareZipResponse(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(ZIP_CONTENT_TYPE);
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(BATCH_FILENAME).build().toString()
         );
+    }
+
+    private MappingIterator<GenerationRequest> readGenerationRequests(InputStream inputStream) throws IOException {
+        try {
+            JsonParser parser = objectMapper.createParser(inputStream);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidBatchRequestException();
+            }
+            parser.clearCurrentToken();
+            return generationRequestReader.readValues(parser);
+        } catch (JsonProcessingException e) {
+            throw new InvalidBatchRequestException();
+        }
+    }
 
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .contentType(response.mediaType())
-                .body(response.imageData());
+    private boolean isSendfileSupported(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE));
     }
 
 }
@@ -1,5 +1,6 @@
 package br.com.dv.qrcodeapi.controller;
 
+import br.com.dv.qrcodeapi.dto.ImageResponse;
 import br.com.dv.qrcodeapi.dto.QRCodeResponse;
 import br.com.dv.qrcodeapi.dto.SaveQRCodeRequest;
 import br.com.dv.qrcodeapi.service.QRCodeManagementService;
@@ -35,6 +36,19 @@ public class QRCodeManagementController {
         return ResponseEntity.ok(qrCodeManagementService.findById(id));
     }
 
+    @GetMapping("/{id}/image")
+    public ResponseEntity<byte[]> getImage(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(name = "type", required = false) String format
+    ) {
+        ImageResponse image = qrCodeManagementService.getImage(id, size, format);
+        return ResponseEntity.ok()
+                .contentType(image.mediaType())
+                .contentLength(image.imageData().length)
+                .body(image.imageData());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<QRCodeResponse> update(
             @PathVariable UUID id,
@@ -0,0 +1,29 @@
+package br.com.dv.qrcodeapi.dto;
+
+public record GenerationRequest(
+        String content,
+        Integer size,
+        String correction,
+        String format,
+        String fcolor,
+        String bcolor,
+        Integer margin
+) {
+
+    public static final int DEFAULT_SIZE = 250;
+    public static final String DEFAULT_CORRECTION = "L";
+    public static final String DEFAULT_FORMAT = "png";
+    public static final String DEFAULT_FCOLOR = "#000000";
+    public static final String DEFAULT_BCOLOR = "#FFFFFF";
+    public static final int DEFAULT_MARGIN = 4;
+
+    public GenerationRequest {
+        size = size == null ? DEFAULT_SIZE : size;
+        correction = correction == null ? DEFAULT_CORRECTION : correction;
+        format = format == null ? DEFAULT_FORMAT : format;
+        fcolor = fcolor == null ? DEFAULT_FCOLOR : fcolor;
+        bcolor = bcolor == null ? DEFAULT_BCOLOR : bcolor;
+        margin = margin == null ? DEFAULT_MARGIN : margin;
+    }
+
+}
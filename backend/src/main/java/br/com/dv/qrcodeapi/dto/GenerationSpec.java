@@ -0,0 +1,109 @@
+package br.com.dv.qrcodeapi.dto;
+
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import br.com.dv.qrcodeapi.enums.MaskSelection;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public record GenerationSpec(
+        String content,
+        int size,
+        ErrorCorrectionLevel correction,
+        ImageFormat format,
+        int onColor,
+        int offColor,
+        int margin,
+        MaskSelection maskSelection,
+        String hash
+) {
+
+    // Bump whenever a change to the rendering pipeline alters the bytes produced for the same parameters
+    private static final String RENDERER_VERSION = "1";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int RGB_MASK = 0xFFFFFF;
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+    private static final HexFormat UPPER_HEX_FORMAT = HexFormat.of().withUpperCase();
+
+    public static GenerationSpec of(
+            String content,
+            int size,
+            ErrorCorrectionLevel correction,
+            ImageFormat format,
+            int onColor,
+            int offColor,
+            int margin
+    ) {
+        return of(content, size, correction, format, onColor, offColor, margin, null);
+    }
+
+    public static GenerationSpec of(
+            String content,
+            int size,
+            ErrorCorrectionLevel correction,
+            ImageFormat format,
+            int onColor,
+            int offColor,
+            int margin,
+            MaskSelection maskSelection
+    ) {
+        String hash = hash(content, size, correction, format, onColor, offColor, margin);
+        return new GenerationSpec(content, size, correction, format, onColor, offColor, margin, maskSelection, hash);
+    }
+
+    public String eTag() {
+        return "\"" + hash + "\"";
+    }
+
+    public MediaType mediaType() {
+        return format.getMediaType();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return hash.equals(((GenerationSpec) o).hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash.hashCode();
+    }
+
+    private static String hash(
+            String content,
+            int size,
+            ErrorCorrectionLevel correction,
+            ImageFormat format,
+            int onColor,
+            int offColor,
+            int margin
+    ) {
+        String fields = RENDERER_VERSION + FIELD_SEPARATOR
+                + content + FIELD_SEPARATOR
+                + size + FIELD_SEPARATOR
+                + correction.name() + FIELD_SEPARATOR
+                + format.getFormatName() + FIELD_SEPARATOR
+                + hexColor(onColor) + FIELD_SEPARATOR
+                + hexColor(offColor) + FIELD_SEPARATOR
+                + margin;
+
+        try {
+            byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(fields.getBytes(StandardCharsets.UTF_8));
+            return HEX_FORMAT.formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hexColor(int argb) {
+        return "#" + UPPER_HEX_FORMAT.toHexDigits(argb & RGB_MASK).substring(2);
+    }
+
+}
@@ -0,0 +1,65 @@
+package br.com.dv.qrcodeapi.dto;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+public record ImageStreamResponse(
+        MediaType mediaType,
+        long contentLength,
+        StreamingResponseBody body,
+        Path file,
+        Closeable resource
+) implements Closeable {
+
+    public static final long UNKNOWN_CONTENT_LENGTH = -1;
+
+    public ImageStreamResponse(MediaType mediaType, long contentLength, StreamingResponseBody body) {
+        this(mediaType, contentLength, body, null, null);
+    }
+
+    public static ImageStreamResponse of(ImageResponse image) {
+        byte[] imageData = image.imageData();
+        return new ImageStreamResponse(image.mediaType(), imageData.length, out -> out.write(imageData));
+    }
+
+    public static ImageStreamResponse ofFile(MediaType mediaType, Path file, FileChannel channel, long size) {
+        return new ImageStreamResponse(mediaType, size, out -> transfer(channel, size, out), file, channel);
+    }
+
+    public boolean hasContentLength() {
+        return contentLength != UNKNOWN_CONTENT_LENGTH;
+    }
+
+    public boolean isFileBacked() {
+        return file != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (resource != null) {
+            resource.close();
+        }
+    }
+
+    private static void transfer(FileChannel channel, long size, OutputStream outputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long position = 0;
+        while (position < size) {
+            long transferred = channel.transferTo(position, size - position, target);
+            if (transferred == 0) {
+                throw new EOFException();
+            }
+            position += transferred;
+        }
+    }
+
+}
@@ -0,0 +1,5 @@
+package br.com.dv.qrcodeapi.dto;
+
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
+
+public record RotatedRefreshToken(AuthenticatedUser user, String refreshToken) {}
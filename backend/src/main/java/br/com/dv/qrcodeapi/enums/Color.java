@@ -2,6 +2,8 @@ package br.com.dv.qrcodeapi.enums;
 
 import lombok.Getter;
 
+import java.util.HexFormat;
+
 @Getter
 public enum Color {
 
@@ -14,10 +16,26 @@ public enum Color {
     PURPLE("#800080"),
     GRAY("#808080");
 
+    public static final int OPAQUE_ALPHA = 0xFF000000;
+
+    private static final Color[] VALUES = values();
+
     private final String hexCode;
+    private final int argb;
 
     Color(String hexCode) {
         this.hexCode = hexCode;
+        this.argb = OPAQUE_ALPHA | HexFormat.fromHexDigits(hexCode, 1, hexCode.length());
+    }
+
+    public static Color fromName(String name) {
+        for (Color color : VALUES) {
+            if (color.name().equalsIgnoreCase(name)) {
+                return color;
+            }
+        }
+
+        return null;
     }
 
 }
@@ -0,0 +1,19 @@
+package br.com.dv.qrcodeapi.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum GenerationStage {
+
+    VALIDATE("validate"),
+    ENCODE("encode"),
+    RASTERIZE("rasterize"),
+    SERIALIZE("serialize");
+
+    private final String tagValue;
+
+    GenerationStage(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+}
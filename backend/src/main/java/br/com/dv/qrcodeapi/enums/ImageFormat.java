@@ -6,14 +6,33 @@ import org.springframework.http.MediaType;
 @Getter
 public enum ImageFormat {
 
-    PNG(MediaType.IMAGE_PNG),
-    JPEG(MediaType.IMAGE_JPEG),
-    GIF(MediaType.IMAGE_GIF);
+    PNG("png", MediaType.IMAGE_PNG),
+    JPEG("jpeg", MediaType.IMAGE_JPEG),
+    GIF("gif", MediaType.IMAGE_GIF),
+    SVG("svg", MediaType.valueOf("image/svg+xml"));
 
+    private static final ImageFormat[] VALUES = values();
+
+    private final String formatName;
     private final MediaType mediaType;
 
-    ImageFormat(MediaType mediaType) {
+    ImageFormat(String formatName, MediaType mediaType) {
+        this.formatName = formatName;
         this.mediaType = mediaType;
     }
 
+    public static ImageFormat fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        for (ImageFormat format : VALUES) {
+            if (format.formatName.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+
+        return null;
+    }
+
 }
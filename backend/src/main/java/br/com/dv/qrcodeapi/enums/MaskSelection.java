@@ -0,0 +1,33 @@
+package br.com.dv.qrcodeapi.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum MaskSelection {
+
+    STANDARD("standard"),
+    FAST("fast");
+
+    private static final MaskSelection[] VALUES = values();
+
+    private final String modeName;
+
+    MaskSelection(String modeName) {
+        this.modeName = modeName;
+    }
+
+    public static MaskSelection fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        for (MaskSelection selection : VALUES) {
+            if (selection.modeName.equalsIgnoreCase(name)) {
+                return selection;
+            }
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,17 @@
+package br.com.dv.qrcodeapi.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum RenderLane {
+
+    INTERACTIVE("interactive"),
+    BULK("bulk");
+
+    private final String tagValue;
+
+    RenderLane(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+}
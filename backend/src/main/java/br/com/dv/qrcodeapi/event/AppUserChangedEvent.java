@@ -0,0 +1,3 @@
+package br.com.dv.qrcodeapi.event;
+
+public record AppUserChangedEvent(String email) {}
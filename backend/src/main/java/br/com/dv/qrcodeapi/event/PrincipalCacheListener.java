@@ -0,0 +1,21 @@
+package br.com.dv.qrcodeapi.event;
+
+import br.com.dv.qrcodeapi.security.PrincipalCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class PrincipalCacheListener {
+
+    private final PrincipalCache principalCache;
+
+    public PrincipalCacheListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @TransactionalEventListener
+    public void onChanged(AppUserChangedEvent event) {
+        principalCache.invalidate(event.email());
+    }
+
+}
@@ -0,0 +1,5 @@
+package br.com.dv.qrcodeapi.event;
+
+import java.util.UUID;
+
+public record QRCodeDeletedEvent(UUID id) {}
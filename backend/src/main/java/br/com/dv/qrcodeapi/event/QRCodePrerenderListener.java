@@ -0,0 +1,83 @@
+package br.com.dv.qrcodeapi.event;
+
+import br.com.dv.qrcodeapi.cache.SavedQRCodeImageProperties;
+import br.com.dv.qrcodeapi.cache.SavedQRCodeImageStore;
+import br.com.dv.qrcodeapi.concurrent.RenderDeadline;
+import br.com.dv.qrcodeapi.concurrent.RenderExecutors;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import br.com.dv.qrcodeapi.enums.RenderLane;
+import br.com.dv.qrcodeapi.service.QRCodeGenerationService;
+import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@Component
+public class QRCodePrerenderListener {
+
+    private static final String PRERENDER_COUNTER_NAME = "qrcode.prerender";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final QRCodeGenerationService qrCodeGenerationService;
+    private final QRCodeParameterValidator qrCodeParameterValidator;
+    private final SavedQRCodeImageStore savedImageStore;
+    private final RenderExecutors renderExecutors;
+    private final SavedQRCodeImageProperties properties;
+    private final Counter renderedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    public QRCodePrerenderListener(
+            QRCodeGenerationService qrCodeGenerationService,
+            QRCodeParameterValidator qrCodeParameterValidator,
+            SavedQRCodeImageStore savedImageStore,
+            RenderExecutors renderExecutors,
+            SavedQRCodeImageProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.qrCodeGenerationService = qrCodeGenerationService;
+        this.qrCodeParameterValidator = qrCodeParameterValidator;
+        this.savedImageStore = savedImageStore;
+        this.renderExecutors = renderExecutors;
+        this.properties = properties;
+        this.renderedCounter = meterRegistry.counter(PRERENDER_COUNTER_NAME, OUTCOME_TAG, "rendered");
+        this.failedCounter = meterRegistry.counter(PRERENDER_COUNTER_NAME, OUTCOME_TAG, "failed");
+        this.droppedCounter = meterRegistry.counter(PRERENDER_COUNTER_NAME, OUTCOME_TAG, "dropped");
+    }
+
+    @TransactionalEventListener
+    public void onSaved(QRCodeSavedEvent event) {
+        savedImageStore.invalidate(event.id());
+
+        if (!properties.enabled() || event.request() == null) {
+            return;
+        }
+
+        try {
+            renderExecutors.getPrerenderExecutor().execute(() -> render(event));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onDeleted(QRCodeDeletedEvent event) {
+        savedImageStore.invalidate(event.id());
+    }
+
+    private void render(QRCodeSavedEvent event) {
+        try {
+            GenerationSpec spec = qrCodeParameterValidator.parse(event.request());
+            ImageResponse image = qrCodeGenerationService.generateQRCode(spec, RenderLane.BULK, RenderDeadline.none());
+            savedImageStore.put(event.id(), event.updatedAt(), image);
+            renderedCounter.increment();
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+        }
+    }
+
+}
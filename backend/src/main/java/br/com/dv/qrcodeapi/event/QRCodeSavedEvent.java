@@ -0,0 +1,8 @@
+package br.com.dv.qrcodeapi.event;
+
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record QRCodeSavedEvent(UUID id, LocalDateTime updatedAt, GenerationRequest request) {}
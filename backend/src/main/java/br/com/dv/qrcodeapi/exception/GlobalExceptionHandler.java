@@ -1,6 +1,7 @@
 package br.com.dv.qrcodeapi.exception;
 
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -50,13 +51,44 @@ public class GlobalExceptionHandler {
         return getResponseEntity(e, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(RenderCapacityExceededException.class)
+    public ResponseEntity<ApiError> handleRenderCapacityExceededException(RenderCapacityExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiError(e.getMessage()));
+    }
+
+    @ExceptionHandler(PasswordHashingCapacityExceededException.class)
+    public ResponseEntity<ApiError> handlePasswordHashingCapacityExceededException(
+            PasswordHashingCapacityExceededException e
+    ) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiError(e.getMessage()));
+    }
+
+    @ExceptionHandler(LoginRateLimitExceededException.class)
+    public ResponseEntity<ApiError> handleLoginRateLimitExceededException(LoginRateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiError(e.getMessage()));
+    }
+
+    @ExceptionHandler(RenderDeadlineExceededException.class)
+    public ResponseEntity<ApiError> handleRenderDeadlineExceededException(RenderDeadlineExceededException e) {
+        return getResponseEntity(e, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler({
             InvalidImageSizeException.class,
             InvalidImageFormatException.class,
             InvalidContentException.class,
             InvalidCorrectionLevelException.class,
             InvalidColorException.class,
-            InvalidMarginException.class
+            InvalidMarginException.class,
+            InvalidMaskSelectionException.class,
+            InvalidBatchRequestException.class,
+            InvalidCsvHeaderException.class
     })
     public ResponseEntity<ApiError> handleAllBadRequestExceptions(Exception e) {
         return getResponseEntity(e, HttpStatus.BAD_REQUEST);
@@ -67,8 +99,11 @@ public class GlobalExceptionHandler {
         return getResponseEntity(e, HttpStatus.CONFLICT);
     }
 
-    @ExceptionHandler(InvalidCredentialsException.class)
-    public ResponseEntity<ApiError> handleInvalidCredentialsException(InvalidCredentialsException e) {
+    @ExceptionHandler({
+            InvalidCredentialsException.class,
+            InvalidRefreshTokenException.class
+    })
+    public ResponseEntity<ApiError> handleAllUnauthorizedExceptions(Exception e) {
         return getResponseEntity(e, HttpStatus.UNAUTHORIZED);
     }
 
@@ -0,0 +1,11 @@
+package br.com.dv.qrcodeapi.exception;
+
+public class InvalidBatchRequestException extends RuntimeException {
+
+    private static final String INVALID_BATCH_REQUEST_MESSAGE = "Batch request body must be a JSON array of generation requests";
+
+    public InvalidBatchRequestException() {
+        super(INVALID_BATCH_REQUEST_MESSAGE);
+    }
+
+}
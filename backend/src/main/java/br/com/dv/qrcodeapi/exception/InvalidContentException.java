@@ -5,7 +5,7 @@ public class InvalidContentException extends RuntimeException {
     private static final String INVALID_CONTENT_MESSAGE = "Contents cannot be null or blank";
 
     public InvalidContentException() {
-        super(INVALID_CONTENT_MESSAGE);
+        super(INVALID_CONTENT_MESSAGE, null, false, false);
     }
 
 }
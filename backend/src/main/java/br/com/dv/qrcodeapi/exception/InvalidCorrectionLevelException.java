@@ -5,7 +5,7 @@ public class InvalidCorrectionLevelException extends RuntimeException {
     private static final String INVALID_CORRECTION_LEVEL_MESSAGE = "Permitted error correction levels are L, M, Q, H";
 
     public InvalidCorrectionLevelException() {
-        super(INVALID_CORRECTION_LEVEL_MESSAGE);
+        super(INVALID_CORRECTION_LEVEL_MESSAGE, null, false, false);
     }
 
 }
@@ -0,0 +1,11 @@
+package br.com.dv.qrcodeapi.exception;
+
+public class InvalidCsvHeaderException extends RuntimeException {
+
+    private static final String INVALID_CSV_HEADER_MESSAGE = "CSV header must contain a 'content' column";
+
+    public InvalidCsvHeaderException() {
+        super(INVALID_CSV_HEADER_MESSAGE);
+    }
+
+}
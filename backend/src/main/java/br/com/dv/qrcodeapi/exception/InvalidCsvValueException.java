@@ -0,0 +1,11 @@
+package br.com.dv.qrcodeapi.exception;
+
+public class InvalidCsvValueException extends RuntimeException {
+
+    private static final String INVALID_CSV_VALUE_MESSAGE_TEMPLATE = "Invalid value '%s' for column '%s' on line %d";
+
+    public InvalidCsvValueException(String value, String column, long line) {
+        super(String.format(INVALID_CSV_VALUE_MESSAGE_TEMPLATE, value, column, line));
+    }
+
+}
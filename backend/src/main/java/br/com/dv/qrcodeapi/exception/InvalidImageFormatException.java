@@ -2,10 +2,10 @@ package br.com.dv.qrcodeapi.exception;
 
 public class InvalidImageFormatException extends RuntimeException {
 
-    private static final String INVALID_IMAGE_FORMAT_MESSAGE = "Only png, jpeg and gif image types are supported";
+    private static final String INVALID_IMAGE_FORMAT_MESSAGE = "Only png, jpeg, gif and svg image types are supported";
 
     public InvalidImageFormatException() {
-        super(INVALID_IMAGE_FORMAT_MESSAGE);
+        super(INVALID_IMAGE_FORMAT_MESSAGE, null, false, false);
     }
 
 }
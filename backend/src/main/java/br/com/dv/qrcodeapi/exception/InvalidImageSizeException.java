@@ -5,7 +5,7 @@ public class InvalidImageSizeException extends RuntimeException {
     private static final String INVALID_IMAGE_SIZE_MESSAGE = "Image size must be between 150 and 350 pixels";
 
     public InvalidImageSizeException() {
-        super(INVALID_IMAGE_SIZE_MESSAGE);
+        super(INVALID_IMAGE_SIZE_MESSAGE, null, false, false);
     }
 
 }
@@ -5,7 +5,7 @@ public class InvalidMarginException extends RuntimeException {
     private static final String INVALID_MARGIN_MESSAGE = "Margin must be between 0 and 50 pixels";
 
     public InvalidMarginException() {
-        super(INVALID_MARGIN_MESSAGE);
+        super(INVALID_MARGIN_MESSAGE, null, false, false);
     }
 
 }
@@ -0,0 +1,11 @@
+package br.com.dv.qrcodeapi.exception;
+
+public class InvalidMaskSelectionException extends RuntimeException {
+
+    private static final String INVALID_MASK_SELECTION_MESSAGE = "Only standard and fast mask selection modes are supported";
+
+    public InvalidMaskSelectionException() {
+        super(INVALID_MASK_SELECTION_MESSAGE, null, false, false);
+    }
+
+}
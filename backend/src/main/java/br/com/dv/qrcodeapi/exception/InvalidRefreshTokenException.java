@@ -0,0 +1,11 @@
+package br.com.dv.qrcodeapi.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    private static final String INVALID_REFRESH_TOKEN_MESSAGE = "Invalid or expired refresh token";
+
+    public InvalidRefreshTokenException() {
+        super(INVALID_REFRESH_TOKEN_MESSAGE, null, false, false);
+    }
+
+}
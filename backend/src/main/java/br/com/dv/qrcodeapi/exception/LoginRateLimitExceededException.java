@@ -0,0 +1,17 @@
+package br.com.dv.qrcodeapi.exception;
+
+import lombok.Getter;
+
+@Getter
+public class LoginRateLimitExceededException extends RuntimeException {
+
+    private static final String LOGIN_RATE_LIMIT_EXCEEDED_MESSAGE = "Too many attempts, try again later";
+
+    private final long retryAfterSeconds;
+
+    public LoginRateLimitExceededException(long retryAfterSeconds) {
+        super(LOGIN_RATE_LIMIT_EXCEEDED_MESSAGE, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
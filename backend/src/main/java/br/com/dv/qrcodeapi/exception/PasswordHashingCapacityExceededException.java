@@ -0,0 +1,18 @@
+package br.com.dv.qrcodeapi.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordHashingCapacityExceededException extends RuntimeException {
+
+    private static final String PASSWORD_HASHING_CAPACITY_EXCEEDED_MESSAGE =
+            "Too many sign-in requests are being processed, try again later";
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingCapacityExceededException(long retryAfterSeconds) {
+        super(PASSWORD_HASHING_CAPACITY_EXCEEDED_MESSAGE, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
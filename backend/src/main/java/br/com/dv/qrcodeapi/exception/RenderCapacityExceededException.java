@@ -0,0 +1,17 @@
+package br.com.dv.qrcodeapi.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RenderCapacityExceededException extends RuntimeException {
+
+    private static final String RENDER_CAPACITY_EXCEEDED_MESSAGE = "Too many QR codes are being rendered, try again later";
+
+    private final long retryAfterSeconds;
+
+    public RenderCapacityExceededException(long retryAfterSeconds) {
+        super(RENDER_CAPACITY_EXCEEDED_MESSAGE, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
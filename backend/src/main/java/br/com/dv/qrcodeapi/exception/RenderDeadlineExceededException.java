@@ -0,0 +1,11 @@
+package br.com.dv.qrcodeapi.exception;
+
+public class RenderDeadlineExceededException extends RuntimeException {
+
+    private static final String RENDER_DEADLINE_EXCEEDED_MESSAGE = "QR code rendering did not finish before the request deadline";
+
+    public RenderDeadlineExceededException() {
+        super(RENDER_DEADLINE_EXCEEDED_MESSAGE, null, false, false);
+    }
+
+}
@@ -1,5 +1,6 @@
 package br.com.dv.qrcodeapi.mapper;
 
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
 import br.com.dv.qrcodeapi.dto.QRCodeResponse;
 import br.com.dv.qrcodeapi.dto.SaveQRCodeRequest;
 import br.com.dv.qrcodeapi.entity.QRCode;
@@ -30,4 +31,9 @@ public interface QRCodeMapper {
     @Mapping(target = "deletedAt", ignore = true)
     void update(@MappingTarget QRCode qrCode, SaveQRCodeRequest request);
 
+    @Mapping(target = "correction", source = "errorCorrection")
+    @Mapping(target = "fcolor", source = "foregroundColor")
+    @Mapping(target = "bcolor", source = "backgroundColor")
+    GenerationRequest toGenerationRequest(QRCode qrCode);
+
 }
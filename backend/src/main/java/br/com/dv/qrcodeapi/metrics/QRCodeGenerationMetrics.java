@@ -0,0 +1,96 @@
+package br.com.dv.qrcodeapi.metrics;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.enums.GenerationStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class QRCodeGenerationMetrics {
+
+    private static final String STAGE_TIMER_NAME = "qrcode.generation.stage";
+    private static final String STAGE_TIMER_DESCRIPTION = "Time spent in each stage of QR code generation";
+    private static final String OUTPUT_SIZE_NAME = "qrcode.generation.output.size";
+    private static final String OUTPUT_SIZE_DESCRIPTION = "Size of generated QR code images";
+    private static final String ABORTED_NAME = "qrcode.generation.aborted";
+    private static final String ABORTED_DESCRIPTION = "Renders abandoned at a stage boundary after their deadline passed";
+    private static final String BYTES_UNIT = "bytes";
+    private static final int SMALL_SIZE_LIMIT = 200;
+    private static final int MEDIUM_SIZE_LIMIT = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<StageKey, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<Tags, DistributionSummary> outputSizes = new ConcurrentHashMap<>();
+    private final Map<GenerationStage, Counter> abortedCounters = new ConcurrentHashMap<>();
+
+    public QRCodeGenerationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public Tags tags(GenerationSpec spec) {
+        return new Tags(sizeBucket(spec.size()), spec.correction().name(), spec.format().getFormatName());
+    }
+
+    public void record(GenerationStage stage, Timer.Sample sample, Tags tags) {
+        sample.stop(stageTimers.computeIfAbsent(new StageKey(stage, tags), this::createStageTimer));
+    }
+
+    public void recordOutputSize(Tags tags, long bytes) {
+        outputSizes.computeIfAbsent(tags, this::createOutputSizeSummary).record(bytes);
+    }
+
+    public void recordAborted(GenerationStage stage) {
+        abortedCounters.computeIfAbsent(stage, this::createAbortedCounter).increment();
+    }
+
+    private Timer createStageTimer(StageKey key) {
+        return Timer.builder(STAGE_TIMER_NAME)
+                .description(STAGE_TIMER_DESCRIPTION)
+                .tag("stage", key.stage().getTagValue())
+                .tag("format", key.tags().format())
+                .tag("size", key.tags().sizeBucket())
+                .tag("correction", key.tags().correction())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary createOutputSizeSummary(Tags tags) {
+        return DistributionSummary.builder(OUTPUT_SIZE_NAME)
+                .description(OUTPUT_SIZE_DESCRIPTION)
+                .baseUnit(BYTES_UNIT)
+                .tag("format", tags.format())
+                .tag("size", tags.sizeBucket())
+                .tag("correction", tags.correction())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter createAbortedCounter(GenerationStage stage) {
+        return Counter.builder(ABORTED_NAME)
+                .description(ABORTED_DESCRIPTION)
+                .tag("stage", stage.getTagValue())
+                .register(meterRegistry);
+    }
+
+    private static String sizeBucket(int size) {
+        if (size < SMALL_SIZE_LIMIT) {
+            return "small";
+        }
+        return size < MEDIUM_SIZE_LIMIT ? "medium" : "large";
+    }
+
+    public record Tags(String sizeBucket, String correction, String format) {}
+
+    private record StageKey(GenerationStage stage, Tags tags) {}
+
+}
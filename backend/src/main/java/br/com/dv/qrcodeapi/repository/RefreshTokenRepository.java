@@ -0,0 +1,33 @@
+package br.com.dv.qrcodeapi.repository;
+
+import br.com.dv.qrcodeapi.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.owner WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true, t.revokedAt = :now WHERE t.id = :id AND t.revoked = false")
+    int revokeIfActive(UUID id, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.owner.id = :ownerId")
+    void revokeAllByOwnerId(UUID ownerId);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.tokenHash = :tokenHash")
+    void revokeByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.owner.id = :ownerId AND t.expiresAt < :now")
+    void deleteExpiredByOwnerId(UUID ownerId, LocalDateTime now);
+
+}
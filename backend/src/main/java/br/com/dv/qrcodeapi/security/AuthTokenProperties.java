@@ -0,0 +1,13 @@
+package br.com.dv.qrcodeapi.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "security.tokens")
+public record AuthTokenProperties(
+        @DefaultValue("15m") Duration accessTokenTtl,
+        @DefaultValue("14d") Duration refreshTokenTtl,
+        @DefaultValue("10s") Duration refreshReuseGracePeriod
+) {}
@@ -0,0 +1,5 @@
+package br.com.dv.qrcodeapi.security;
+
+import java.util.UUID;
+
+public record AuthenticatedUser(UUID id, String email) {}
@@ -0,0 +1,129 @@
+package br.com.dv.qrcodeapi.security;
+
+import br.com.dv.qrcodeapi.exception.PasswordHashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String METRIC_PREFIX = "security.password.hashing.";
+    private static final String THREAD_NAME_PREFIX = "password-hashing-";
+    private static final String OPERATION_TAG = "operation";
+    private static final String REASON_TAG = "reason";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueTimer;
+    private final Counter queueFullCounter;
+    private final Counter timedOutCounter;
+
+    public BoundedPasswordEncoder(
+            PasswordEncoder delegate,
+            PasswordHashingProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        int threads = properties.effectiveThreads();
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.maxQueued()),
+                new CustomizableThreadFactory(THREAD_NAME_PREFIX)
+        );
+        this.maxWaitNanos = properties.maxWait().toNanos();
+        this.retryAfterSeconds = Math.max(1, properties.retryAfter().toSeconds());
+        this.encodeTimer = hashTimer("encode", meterRegistry);
+        this.matchesTimer = hashTimer("matches", meterRegistry);
+        this.queueTimer = Timer.builder(METRIC_PREFIX + "queue.time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueFullCounter = meterRegistry.counter(METRIC_PREFIX + "rejections", REASON_TAG, "queue_full");
+        this.timedOutCounter = meterRegistry.counter(METRIC_PREFIX + "rejections", REASON_TAG, "timeout");
+        Gauge.builder(METRIC_PREFIX + "queued", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "threads", () -> threads)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Supplier<T> hashing) {
+        long submittedNanos = System.nanoTime();
+        Future<T> future;
+
+        try {
+            future = executor.submit(() -> {
+                queueTimer.record(System.nanoTime() - submittedNanos, TimeUnit.NANOSECONDS);
+                return timer.record(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            throw new PasswordHashingCapacityExceededException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOutCounter.increment();
+            throw new PasswordHashingCapacityExceededException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingCapacityExceededException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_PREFIX + "duration")
+                .tag(OPERATION_TAG, operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+}
@@ -18,13 +18,19 @@ public class CustomUserDetailsService implements UserDetailsService {
     private static final String USER_NOT_FOUND_MESSAGE = "User not found";
 
     private final AppUserRepository appUserRepository;
+    private final PrincipalCache principalCache;
 
-    public CustomUserDetailsService(AppUserRepository appUserRepository) {
+    public CustomUserDetailsService(AppUserRepository appUserRepository, PrincipalCache principalCache) {
         this.appUserRepository = appUserRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return principalCache.get(email, this::loadFromRepository);
+    }
+
+    private UserDetails loadFromRepository(String email) {
         AppUser user = appUserRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException(USER_NOT_FOUND_MESSAGE));
 
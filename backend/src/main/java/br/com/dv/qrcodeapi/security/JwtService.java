@@ -1,49 +1,109 @@
 package br.com.dv.qrcodeapi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
 
 @Component
 public class JwtService {
 
     private static final SecretKey SECRET_KEY = Jwts.SIG.HS256.key().build();
-    private static final long JWT_EXPIRATION = 24 * 60 * 60 * 1000L;
+    private static final JwtParser PARSER = Jwts.parser().verifyWith(SECRET_KEY).build();
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String MISSING_USER_ID_MESSAGE = "Token does not carry a user id";
+    private static final String CACHE_NAME = "security.verified.tokens";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
 
-    public String generateToken(String email) {
+    private final long accessTokenTtlMillis;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(
+            AuthTokenProperties tokenProperties,
+            JwtVerificationCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.accessTokenTtlMillis = tokenProperties.accessTokenTtl().toMillis();
+
+        if (properties.enabled()) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(properties.maxSize())
+                    .expireAfterWrite(properties.ttl())
+                    .recordStats()
+                    .build();
+
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+        } else {
+            this.verifiedTokens = null;
+        }
+    }
+
+    public String generateToken(AuthenticatedUser user) {
         return Jwts.builder()
-                .subject(email)
+                .subject(user.email())
+                .claim(USER_ID_CLAIM, user.id().toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
+                .expiration(new Date(System.currentTimeMillis() + accessTokenTtlMillis))
                 .signWith(SECRET_KEY)
                 .compact();
     }
 
-    public Boolean validateToken(String token, String email) {
-        return extractEmail(token).equals(email) && !isTokenExpired(token);
-    }
+    public AuthenticatedUser extractAuthenticatedUser(String token) {
+        if (verifiedTokens == null) {
+            return verify(token).user();
+        }
 
-    public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.get(key, ignored -> verify(token));
+
+        if (verified.isExpired()) {
+            verifiedTokens.invalidate(key);
+            return verify(token).user();
+        }
+
+        return verified.user();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date(System.currentTimeMillis()));
+    private static VerifiedToken verify(String token) {
+        Claims claims = PARSER.parseSignedClaims(token).getPayload();
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        if (userId == null) {
+            throw new MalformedJwtException(MISSING_USER_ID_MESSAGE);
+        }
+
+        AuthenticatedUser user = new AuthenticatedUser(UUID.fromString(userId), claims.getSubject());
+        return new VerifiedToken(user, claims.getExpiration());
     }
 
-    private Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+            return HEX_FORMAT.formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(SECRET_KEY)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private record VerifiedToken(AuthenticatedUser user, Date expiration) {
+
+        boolean isExpired() {
+            return expiration != null && expiration.before(new Date(System.currentTimeMillis()));
+        }
+
     }
 
 }
@@ -0,0 +1,13 @@
+package br.com.dv.qrcodeapi.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "security.token-cache")
+public record JwtVerificationCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") long maxSize,
+        @DefaultValue("30s") Duration ttl
+) {}
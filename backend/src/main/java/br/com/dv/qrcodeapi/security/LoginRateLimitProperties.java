@@ -0,0 +1,15 @@
+package br.com.dv.qrcodeapi.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "security.login-rate-limit")
+public record LoginRateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int perIpAttempts,
+        @DefaultValue("5") int perAccountAttempts,
+        @DefaultValue("1m") Duration window,
+        @DefaultValue("100000") long maxTrackedKeys
+) {}
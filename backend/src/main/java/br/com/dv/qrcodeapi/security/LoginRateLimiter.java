@@ -0,0 +1,77 @@
+package br.com.dv.qrcodeapi.security;
+
+import br.com.dv.qrcodeapi.exception.LoginRateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class LoginRateLimiter {
+
+    private static final String METRIC_NAME = "security.login.rate.limited";
+    private static final String SCOPE_TAG = "scope";
+
+    private final boolean enabled;
+    private final int perIpAttempts;
+    private final int perAccountAttempts;
+    private final long retryAfterSeconds;
+    private final Cache<String, AtomicInteger> ipAttempts;
+    private final Cache<String, AtomicInteger> accountAttempts;
+    private final Counter ipLimitedCounter;
+    private final Counter accountLimitedCounter;
+
+    public LoginRateLimiter(LoginRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.perIpAttempts = properties.perIpAttempts();
+        this.perAccountAttempts = properties.perAccountAttempts();
+        this.retryAfterSeconds = Math.max(1, properties.window().toSeconds());
+        this.ipAttempts = newWindow(properties);
+        this.accountAttempts = newWindow(properties);
+        this.ipLimitedCounter = meterRegistry.counter(METRIC_NAME, SCOPE_TAG, "ip");
+        this.accountLimitedCounter = meterRegistry.counter(METRIC_NAME, SCOPE_TAG, "account");
+    }
+
+    public void checkLogin(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+
+        acquire(ipAttempts, clientIp, perIpAttempts, ipLimitedCounter);
+        acquire(accountAttempts, normalize(email), perAccountAttempts, accountLimitedCounter);
+    }
+
+    public void checkRegistration(String clientIp) {
+        if (enabled) {
+            acquire(ipAttempts, clientIp, perIpAttempts, ipLimitedCounter);
+        }
+    }
+
+    public void recordSuccessfulLogin(String email) {
+        accountAttempts.invalidate(normalize(email));
+    }
+
+    private void acquire(Cache<String, AtomicInteger> attempts, String key, int limit, Counter limitedCounter) {
+        int count = attempts.get(key, ignored -> new AtomicInteger()).incrementAndGet();
+        if (count > limit) {
+            limitedCounter.increment();
+            throw new LoginRateLimitExceededException(retryAfterSeconds);
+        }
+    }
+
+    private static Cache<String, AtomicInteger> newWindow(LoginRateLimitProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maxTrackedKeys())
+                .expireAfterWrite(properties.window())
+                .build();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,24 @@
+package br.com.dv.qrcodeapi.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "security.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("8") int queuedPerThread,
+        @DefaultValue("5s") Duration maxWait,
+        @DefaultValue("1s") Duration retryAfter
+) {
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+    }
+
+    public int maxQueued() {
+        return Math.max(1, effectiveThreads() * queuedPerThread);
+    }
+
+}
@@ -0,0 +1,38 @@
+package br.com.dv.qrcodeapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache {
+
+    private static final String CACHE_NAME = "security.principals";
+
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(PrincipalCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return User.withUserDetails(cache.get(email, loader)).build();
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+}
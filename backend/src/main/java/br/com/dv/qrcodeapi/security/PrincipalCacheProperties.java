@@ -0,0 +1,12 @@
+package br.com.dv.qrcodeapi.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "security.principal-cache")
+public record PrincipalCacheProperties(
+        @DefaultValue("10000") long maxSize,
+        @DefaultValue("5m") Duration ttl
+) {}
@@ -1,33 +1,42 @@
 package br.com.dv.qrcodeapi.service;
 
-import br.com.dv.qrcodeapi.dto.LoginResponse;
 import br.com.dv.qrcodeapi.dto.RegisterResponse;
 import br.com.dv.qrcodeapi.dto.LoginRequest;
 import br.com.dv.qrcodeapi.dto.RegisterRequest;
 import br.com.dv.qrcodeapi.entity.AppUser;
+import br.com.dv.qrcodeapi.event.AppUserChangedEvent;
 import br.com.dv.qrcodeapi.exception.EmailAlreadyExistsException;
 import br.com.dv.qrcodeapi.exception.InvalidCredentialsException;
 import br.com.dv.qrcodeapi.repository.AppUserRepository;
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 @Service
 public class AppUserServiceImpl implements AppUserService {
 
     private static final String USER_REGISTERED_MESSAGE = "User registered successfully";
-    private static final String USER_LOGGED_IN_MESSAGE = "User logged in successfully";
 
     private final AppUserRepository appUserRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
 
-    public AppUserServiceImpl(AppUserRepository appUserRepository, PasswordEncoder passwordEncoder) {
+    public AppUserServiceImpl(
+            AppUserRepository appUserRepository,
+            PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher,
+            TransactionOperations transactionOperations
+    ) {
         this.appUserRepository = appUserRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
     }
 
     @Override
-    @Transactional
     public RegisterResponse register(RegisterRequest request) {
         if (appUserRepository.existsByEmail(request.email())) {
             throw new EmailAlreadyExistsException(request.email());
@@ -38,14 +47,16 @@ public class AppUserServiceImpl implements AppUserService {
         user.setPassword(passwordEncoder.encode(request.password()));
         user.setName(request.name());
 
-        appUserRepository.save(user);
+        transactionOperations.executeWithoutResult(status -> {
+            appUserRepository.save(user);
+            eventPublisher.publishEvent(new AppUserChangedEvent(user.getEmail()));
+        });
 
         return new RegisterResponse(USER_REGISTERED_MESSAGE);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public LoginResponse login(LoginRequest request) {
+    public AuthenticatedUser login(LoginRequest request) {
         AppUser user = appUserRepository.findByEmail(request.email())
                 .orElseThrow(InvalidCredentialsException::new);
 
@@ -53,7 +64,7 @@ public class AppUserServiceImpl implements AppUserService {
             throw new InvalidCredentialsException();
         }
 
-        return new LoginResponse(USER_LOGGED_IN_MESSAGE);
+        return new AuthenticatedUser(user.getId(), user.getEmail());
     }
 
 }
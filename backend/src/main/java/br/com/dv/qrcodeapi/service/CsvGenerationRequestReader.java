@@ -0,0 +1,133 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.exception.InvalidCsvHeaderException;
+import br.com.dv.qrcodeapi.exception.InvalidCsvValueException;
+import br.com.dv.qrcodeapi.util.CsvReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+public class CsvGenerationRequestReader implements Iterator<GenerationRequest>, Closeable {
+
+    private static final String CONTENT_COLUMN = "content";
+    private static final String SIZE_COLUMN = "size";
+    private static final String CORRECTION_COLUMN = "correction";
+    private static final String FORMAT_COLUMN = "format";
+    private static final String FCOLOR_COLUMN = "fcolor";
+    private static final String BCOLOR_COLUMN = "bcolor";
+    private static final String MARGIN_COLUMN = "margin";
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+    private static final Map<String, String> COLUMN_ALIASES = Map.of(
+            "contents", CONTENT_COLUMN,
+            "type", FORMAT_COLUMN
+    );
+
+    private final CsvReader csvReader;
+    private final Map<String, Integer> columns;
+    private List<String> nextRecord;
+
+    public CsvGenerationRequestReader(Reader reader) throws IOException {
+        this.csvReader = new CsvReader(reader);
+        this.columns = readHeader(csvReader.readRecord());
+        this.nextRecord = readNonBlankRecord();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextRecord != null;
+    }
+
+    @Override
+    public GenerationRequest next() {
+        if (nextRecord == null) {
+            throw new NoSuchElementException();
+        }
+
+        List<String> record = nextRecord;
+        long line = csvReader.getRecordLine();
+        nextRecord = null;
+
+        try {
+            nextRecord = readNonBlankRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new GenerationRequest(
+                value(record, CONTENT_COLUMN),
+                intValue(record, SIZE_COLUMN, line),
+                value(record, CORRECTION_COLUMN),
+                value(record, FORMAT_COLUMN),
+                value(record, FCOLOR_COLUMN),
+                value(record, BCOLOR_COLUMN),
+                intValue(record, MARGIN_COLUMN, line)
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvReader.close();
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new InvalidCsvHeaderException();
+        }
+
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String field = i == 0 ? stripByteOrderMark(header.get(i)) : header.get(i);
+            String name = field.strip().toLowerCase(Locale.ROOT);
+            columnIndexes.putIfAbsent(COLUMN_ALIASES.getOrDefault(name, name), i);
+        }
+
+        if (!columnIndexes.containsKey(CONTENT_COLUMN)) {
+            throw new InvalidCsvHeaderException();
+        }
+
+        return columnIndexes;
+    }
+
+    private static String stripByteOrderMark(String field) {
+        return field.startsWith(BYTE_ORDER_MARK) ? field.substring(BYTE_ORDER_MARK.length()) : field;
+    }
+
+    private List<String> readNonBlankRecord() throws IOException {
+        List<String> record = csvReader.readRecord();
+        while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+            record = csvReader.readRecord();
+        }
+        return record;
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private Integer intValue(List<String> record, String column, long line) {
+        String value = value(record, column);
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Integer.valueOf(value.strip());
+        } catch (NumberFormatException e) {
+            throw new InvalidCsvValueException(value, column, line);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package br.com.dv.qrcodeapi.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "qrcode.batch")
+public record QRCodeBatchProperties(
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("4") int inFlightPerThread
+) {
+
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int maxInFlight() {
+        return effectiveParallelism() * Math.max(1, inFlightPerThread);
+    }
+
+}
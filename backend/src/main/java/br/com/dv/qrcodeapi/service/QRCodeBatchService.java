@@ -0,0 +1,18 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.concurrent.RenderDeadline;
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+public interface QRCodeBatchService {
+
+    void writeZip(
+            Iterator<GenerationRequest> requests,
+            OutputStream outputStream,
+            RenderDeadline deadline
+    ) throws IOException;
+
+}
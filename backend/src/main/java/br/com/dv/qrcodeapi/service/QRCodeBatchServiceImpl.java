@@ -0,0 +1,228 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.concurrent.RenderDeadline;
+import br.com.dv.qrcodeapi.concurrent.RenderDeadlineProperties;
+import br.com.dv.qrcodeapi.concurrent.RenderExecutors;
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import br.com.dv.qrcodeapi.enums.RenderLane;
+import br.com.dv.qrcodeapi.exception.ImageProcessingException;
+import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+public class QRCodeBatchServiceImpl implements QRCodeBatchService {
+
+    private static final String ENTRY_NAME_TEMPLATE = "qrcode-%06d.%s";
+    private static final String ERRORS_ENTRY_NAME = "errors.txt";
+    private static final String ERROR_LINE_TEMPLATE = "%d: %s%n";
+    private static final String OMITTED_ERRORS_TEMPLATE = "... %d more errors omitted%n";
+    private static final String DEADLINE_EXCEEDED_MESSAGE = "Batch deadline exceeded; remaining requests were skipped";
+    private static final int MAX_REPORTED_ERRORS = 10_000;
+
+    private final QRCodeGenerationService qrCodeGenerationService;
+    private final QRCodeParameterValidator qrCodeParameterValidator;
+    private final Executor bulkExecutor;
+    private final int maxInFlight;
+    private final Duration itemTimeout;
+
+    public QRCodeBatchServiceImpl(
+            QRCodeGenerationService qrCodeGenerationService,
+            QRCodeParameterValidator qrCodeParameterValidator,
+            RenderExecutors renderExecutors,
+            QRCodeBatchProperties batchProperties,
+            RenderDeadlineProperties deadlineProperties
+    ) {
+        this.qrCodeGenerationService = qrCodeGenerationService;
+        this.qrCodeParameterValidator = qrCodeParameterValidator;
+        this.bulkExecutor = renderExecutors.getBulkExecutor();
+        this.maxInFlight = batchProperties.maxInFlight();
+        this.itemTimeout = deadlineProperties.batchItemTimeout();
+    }
+
+    @Override
+    public void writeZip(
+            Iterator<GenerationRequest> requests,
+            OutputStream outputStream,
+            RenderDeadline deadline
+    ) throws IOException {
+        CompletionService<BatchEntry> completionService = new ExecutorCompletionService<>(bulkExecutor);
+        Set<Future<BatchEntry>> pending = new HashSet<>();
+        var errors = new ErrorReport();
+        var zip = new ZipOutputStream(outputStream);
+        int submitted = 0;
+
+        try {
+            boolean submitting = true;
+
+            while (submitting || !pending.isEmpty()) {
+                while (submitting && pending.size() < maxInFlight) {
+                    if (!hasNext(requests, errors, submitted)) {
+                        submitting = false;
+                        break;
+                    }
+
+                    if (deadline.isExpired()) {
+                        errors.add(submitted, DEADLINE_EXCEEDED_MESSAGE);
+                        submitting = false;
+                        break;
+                    }
+
+                    int index = submitted++;
+                    GenerationRequest request;
+
+                    try {
+                        request = requests.next();
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                    } catch (RuntimeException e) {
+                        errors.add(index, e.getMessage());
+                        continue;
+                    }
+
+                    RenderDeadline itemDeadline = deadline.within(itemTimeout);
+                    pending.add(completionService.submit(() -> render(index, request, itemDeadline)));
+                }
+
+                if (pending.isEmpty()) {
+                    continue;
+                }
+
+                Future<BatchEntry> completed = takeCompleted(completionService);
+                pending.remove(completed);
+                BatchEntry entry = getEntry(completed);
+
+                if (entry.error() == null) {
+                    writeEntry(zip, entry.name(), entry.image().imageData(), isCompressible(entry.image()));
+                } else {
+                    errors.add(entry.index(), entry.error());
+                }
+            }
+        } finally {
+            if (!pending.isEmpty()) {
+                deadline.cancel();
+                pending.forEach(future -> future.cancel(true));
+            }
+        }
+
+        if (errors.hasErrors()) {
+            writeEntry(zip, ERRORS_ENTRY_NAME, errors.toByteArray(), true);
+        }
+
+        zip.finish();
+        zip.flush();
+    }
+
+    private boolean hasNext(Iterator<GenerationRequest> requests, ErrorReport errors, int index) throws IOException {
+        try {
+            return requests.hasNext();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            errors.add(index, e.getMessage());
+            return false;
+        }
+    }
+
+    private BatchEntry render(int index, GenerationRequest request, RenderDeadline deadline) {
+        try {
+            GenerationSpec spec = qrCodeParameterValidator.parse(request);
+            ImageResponse image = qrCodeGenerationService.generateQRCode(spec, RenderLane.BULK, deadline);
+            String name = String.format(ENTRY_NAME_TEMPLATE, index, spec.format().getFormatName());
+            return new BatchEntry(index, name, image, null);
+        } catch (RuntimeException e) {
+            return new BatchEntry(index, null, null, e.getMessage());
+        }
+    }
+
+    private Future<BatchEntry> takeCompleted(CompletionService<BatchEntry> completionService) throws IOException {
+        try {
+            return completionService.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private BatchEntry getEntry(Future<BatchEntry> completed) {
+        try {
+            return completed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImageProcessingException(e);
+        } catch (ExecutionException e) {
+            throw new ImageProcessingException(e.getCause());
+        }
+    }
+
+    private boolean isCompressible(ImageResponse image) {
+        return ImageFormat.SVG.getMediaType().equals(image.mediaType());
+    }
+
+    private void writeEntry(ZipOutputStream zip, String name, byte[] data, boolean compress) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+
+        if (compress) {
+            entry.setMethod(ZipEntry.DEFLATED);
+        } else {
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(data.length);
+            entry.setCompressedSize(data.length);
+            entry.setCrc(crc.getValue());
+        }
+
+        zip.putNextEntry(entry);
+        zip.write(data);
+        zip.closeEntry();
+    }
+
+    private record BatchEntry(int index, String name, ImageResponse image, String error) {}
+
+    private static final class ErrorReport {
+
+        private final StringBuilder report = new StringBuilder();
+        private int count;
+
+        void add(int index, String message) {
+            if (count++ < MAX_REPORTED_ERRORS) {
+                report.append(String.format(ERROR_LINE_TEMPLATE, index, message));
+            }
+        }
+
+        boolean hasErrors() {
+            return count > 0;
+        }
+
+        byte[] toByteArray() {
+            StringBuilder result = new StringBuilder(report);
+            if (count > MAX_REPORTED_ERRORS) {
+                result.append(String.format(OMITTED_ERRORS_TEMPLATE, count - MAX_REPORTED_ERRORS));
+            }
+            return result.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+    }
+
+}
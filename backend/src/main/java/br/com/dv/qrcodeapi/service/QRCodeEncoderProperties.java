@@ -0,0 +1,8 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.enums.MaskSelection;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "qrcode.encoder")
+public record QRCodeEncoderProperties(@DefaultValue("standard") MaskSelection maskSelection) {}
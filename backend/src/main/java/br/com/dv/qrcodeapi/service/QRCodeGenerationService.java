@@ -1,17 +1,19 @@
 package br.com.dv.qrcodeapi.service;
 
+import br.com.dv.qrcodeapi.concurrent.RenderDeadline;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
 import br.com.dv.qrcodeapi.dto.ImageResponse;
+import br.com.dv.qrcodeapi.dto.ImageStreamResponse;
+import br.com.dv.qrcodeapi.enums.RenderLane;
 
 public interface QRCodeGenerationService {
 
-    ImageResponse generateQRCode(
-            String content,
-            int size,
-            String correction,
-            String format,
-            String fcolor,
-            String bcolor,
-            int margin
-    );
+    ImageResponse generateQRCode(GenerationSpec spec);
+
+    ImageResponse generateQRCode(GenerationSpec spec, RenderLane lane, RenderDeadline deadline);
+
+    ImageStreamResponse streamQRCode(GenerationSpec spec);
+
+    ImageStreamResponse streamQRCode(GenerationSpec spec, RenderDeadline deadline);
 
 }
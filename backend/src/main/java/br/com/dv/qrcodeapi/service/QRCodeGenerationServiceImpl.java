@@ -1,111 +1,227 @@
 package br.com.dv.qrcodeapi.service;
 
+import br.com.dv.qrcodeapi.cache.QRCodeImageCache;
+import br.com.dv.qrcodeapi.cache.QRCodeImageDiskStore;
+import br.com.dv.qrcodeapi.cache.QRCodeImageSlabCache;
+import br.com.dv.qrcodeapi.concurrent.RenderBulkhead;
+import br.com.dv.qrcodeapi.concurrent.RenderCoalescer;
+import br.com.dv.qrcodeapi.concurrent.RenderDeadline;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
 import br.com.dv.qrcodeapi.dto.ImageResponse;
-import br.com.dv.qrcodeapi.enums.Color;
+import br.com.dv.qrcodeapi.dto.ImageStreamResponse;
+import br.com.dv.qrcodeapi.enums.GenerationStage;
+import br.com.dv.qrcodeapi.enums.MaskSelection;
+import br.com.dv.qrcodeapi.enums.RenderLane;
 import br.com.dv.qrcodeapi.exception.ImageProcessingException;
-import br.com.dv.qrcodeapi.exception.InvalidColorException;
-import br.com.dv.qrcodeapi.exception.InvalidCorrectionLevelException;
+import br.com.dv.qrcodeapi.exception.RenderDeadlineExceededException;
+import br.com.dv.qrcodeapi.metrics.QRCodeGenerationMetrics;
+import br.com.dv.qrcodeapi.util.FastMaskEncoder;
 import br.com.dv.qrcodeapi.util.ImageUtils;
-import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.EncodeHintType;
+import br.com.dv.qrcodeapi.util.QRCodeRaster;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageConfig;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
-import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
-import org.springframework.http.MediaType;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.awt.image.BufferedImage;
-import java.util.EnumMap;
-import java.util.Map;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
 @Service
 public class QRCodeGenerationServiceImpl implements QRCodeGenerationService {
-    
-    private final QRCodeParameterValidator qrCodeParameterValidator;
-    private final QRCodeWriter qrCodeWriter = new QRCodeWriter();
 
-    public QRCodeGenerationServiceImpl(QRCodeParameterValidator qrCodeParameterValidator) {
-        this.qrCodeParameterValidator = qrCodeParameterValidator;
+    private static final int EXPECTED_IMAGE_BYTES = 2048;
+
+    private final QRCodeImageCache qrCodeImageCache;
+    private final QRCodeImageSlabCache qrCodeImageSlabCache;
+    private final QRCodeImageDiskStore qrCodeImageDiskStore;
+    private final RenderCoalescer renderCoalescer;
+    private final RenderBulkhead renderBulkhead;
+    private final QRCodeGenerationMetrics generationMetrics;
+    private final MaskSelection defaultMaskSelection;
+
+    public QRCodeGenerationServiceImpl(
+            QRCodeImageCache qrCodeImageCache,
+            QRCodeImageSlabCache qrCodeImageSlabCache,
+            QRCodeImageDiskStore qrCodeImageDiskStore,
+            RenderCoalescer renderCoalescer,
+            RenderBulkhead renderBulkhead,
+            QRCodeGenerationMetrics generationMetrics,
+            QRCodeEncoderProperties encoderProperties
+    ) {
+        this.qrCodeImageCache = qrCodeImageCache;
+        this.qrCodeImageSlabCache = qrCodeImageSlabCache;
+        this.qrCodeImageDiskStore = qrCodeImageDiskStore;
+        this.renderCoalescer = renderCoalescer;
+        this.renderBulkhead = renderBulkhead;
+        this.generationMetrics = generationMetrics;
+        this.defaultMaskSelection = encoderProperties.maskSelection();
     }
 
     @Override
-    public ImageResponse generateQRCode(
-            String content,
-            int size,
-            String correction,
-            String format,
-            String fcolor,
-            String bcolor,
-            int margin
-    ) {
-        qrCodeParameterValidator.validate(content, size, correction, format, fcolor, bcolor, margin);
+    public ImageResponse generateQRCode(GenerationSpec spec) {
+        return generateQRCode(spec, RenderLane.INTERACTIVE, RenderDeadline.none());
+    }
+
+    @Override
+    public ImageResponse generateQRCode(GenerationSpec spec, RenderLane lane, RenderDeadline deadline) {
+        ImageResponse cached = qrCodeImageCache.get(spec);
+        if (cached != null) {
+            return cached;
+        }
 
-        BufferedImage qrCodeImage = generateQRCodeImage(content, size, correction, fcolor, bcolor, margin);
-        byte[] qrCodeImageData = ImageUtils.writeImageToByteArray(qrCodeImage, format);
-        MediaType mediaType = ImageUtils.getMediaTypeForImageFormat(format);
+        try (QRCodeImageSlabCache.SlabImage slabImage = qrCodeImageSlabCache.get(spec)) {
+            if (slabImage != null) {
+                return new ImageResponse(slabImage.toByteArray(), slabImage.mediaType());
+            }
+        }
+
+        QRCodeImageDiskStore.StoredImage stored = qrCodeImageDiskStore.find(spec);
+        byte[] storedData = stored == null ? null : qrCodeImageDiskStore.read(stored);
+        if (storedData != null) {
+            return new ImageResponse(storedData, spec.mediaType());
+        }
 
-        return new ImageResponse(qrCodeImageData, mediaType);
+        return render(spec, lane, deadline);
     }
 
-    private BufferedImage generateQRCodeImage(
-            String content,
-            int size,
-            String correction,
-            String fcolor,
-            String bcolor,
-            int margin
-    ) {
-        Map<EncodeHintType, ?> hints = getQRCodeHints(correction.toUpperCase(), margin);
+    @Override
+    public ImageStreamResponse streamQRCode(GenerationSpec spec) {
+        return streamQRCode(spec, RenderDeadline.none());
+    }
+
+    @Override
+    public ImageStreamResponse streamQRCode(GenerationSpec spec, RenderDeadline deadline) {
+        ImageResponse cached = qrCodeImageCache.get(spec);
+        if (cached != null) {
+            return ImageStreamResponse.of(cached);
+        }
+
+        QRCodeImageSlabCache.SlabImage slabImage = qrCodeImageSlabCache.get(spec);
+        if (slabImage != null) {
+            return new ImageStreamResponse(slabImage.mediaType(), slabImage.length(), outputStream -> {
+                try (slabImage) {
+                    slabImage.writeTo(outputStream);
+                }
+            }, null, slabImage);
+        }
+
+        QRCodeImageDiskStore.StoredImage stored = qrCodeImageDiskStore.find(spec);
+        FileChannel channel = stored != null ? qrCodeImageDiskStore.open(stored) : null;
+        if (channel != null) {
+            return ImageStreamResponse.ofFile(spec.mediaType(), stored.path(), channel, stored.size());
+        }
+
+        return ImageStreamResponse.of(render(spec, RenderLane.INTERACTIVE, deadline));
+    }
+
+    private ImageResponse render(GenerationSpec spec, RenderLane lane, RenderDeadline deadline) {
+        RenderCoalescer.Lease lease = renderCoalescer.acquire(spec);
+        if (!lease.isLeader()) {
+            ImageResponse shared = lease.await(deadline);
+            if (shared != null) {
+                return shared;
+            }
+            checkDeadline(deadline, GenerationStage.ENCODE);
+            lease = renderCoalescer.detached(spec);
+        }
 
         try {
-            BitMatrix bitMatrix = qrCodeWriter.encode(content, BarcodeFormat.QR_CODE, size, size, hints);
-
-            return MatrixToImageWriter.toBufferedImage(
-                    bitMatrix,
-                    new MatrixToImageConfig(
-                            parseColor(fcolor, Color.BLACK),
-                            parseColor(bcolor, Color.WHITE)
-                    )
-            );
-        } catch (WriterException e) {
-            throw new ImageProcessingException(e);
+            ImageResponse response = qrCodeImageCache.get(spec);
+            if (response == null) {
+                try (RenderBulkhead.Permit permit = renderBulkhead.acquire(spec, lane, deadline)) {
+                    RenderJob job = prepareRender(spec, deadline);
+                    response = new ImageResponse(writeImageToByteArray(job), spec.mediaType());
+                }
+                qrCodeImageCache.put(spec, response);
+                qrCodeImageDiskStore.store(spec, response.imageData());
+            }
+
+            lease.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            lease.fail(e);
+            throw e;
         }
     }
 
-    private Map<EncodeHintType, ?> getQRCodeHints(String correction, int margin) {
-        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+    private RenderJob prepareRender(GenerationSpec spec, RenderDeadline deadline) {
+        QRCodeGenerationMetrics.Tags tags = generationMetrics.tags(spec);
 
-        switch (correction) {
-            case "L" -> hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.L);
-            case "M" -> hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
-            case "Q" -> hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.Q);
-            case "H" -> hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.H);
-            default -> throw new InvalidCorrectionLevelException();
+        checkDeadline(deadline, GenerationStage.ENCODE);
+        Timer.Sample encoding = generationMetrics.start();
+        ByteMatrix modules = generateModuleMatrix(spec);
+        generationMetrics.record(GenerationStage.ENCODE, encoding, tags);
+
+        return new RenderJob(new QRCodeRaster(modules, spec.size(), spec.margin()), spec, tags, deadline);
+    }
+
+    private byte[] writeImageToByteArray(RenderJob job) {
+        try (var outputStream = new ByteArrayOutputStream(EXPECTED_IMAGE_BYTES)) {
+            writeImage(job, outputStream);
+
+            byte[] imageData = outputStream.toByteArray();
+            generationMetrics.recordOutputSize(job.tags(), imageData.length);
+            return imageData;
+        } catch (IOException e) {
+            throw new ImageProcessingException(e);
         }
+    }
 
-        hints.put(EncodeHintType.MARGIN, margin);
+    private void writeImage(RenderJob job, OutputStream outputStream) throws IOException {
+        if (ImageUtils.isEncodedFromRaster(job.spec().format())) {
+            checkDeadline(job.deadline(), GenerationStage.SERIALIZE);
+            Timer.Sample serialization = generationMetrics.start();
+            ImageUtils.writeRaster(
+                    job.raster(),
+                    job.spec().format(),
+                    job.spec().onColor(),
+                    job.spec().offColor(),
+                    outputStream
+            );
+            generationMetrics.record(GenerationStage.SERIALIZE, serialization, job.tags());
+            return;
+        }
+
+        checkDeadline(job.deadline(), GenerationStage.RASTERIZE);
+        Timer.Sample rasterization = generationMetrics.start();
+        BufferedImage image = ImageUtils.toBufferedImage(job.raster(), job.spec().onColor(), job.spec().offColor());
+        generationMetrics.record(GenerationStage.RASTERIZE, rasterization, job.tags());
 
-        return hints;
+        checkDeadline(job.deadline(), GenerationStage.SERIALIZE);
+        Timer.Sample serialization = generationMetrics.start();
+        ImageUtils.writeImage(image, job.spec().format(), outputStream);
+        generationMetrics.record(GenerationStage.SERIALIZE, serialization, job.tags());
     }
 
-    private int parseColor(String color, Color defaultColor) {
-        try {
-            String hexColor = color;
+    private void checkDeadline(RenderDeadline deadline, GenerationStage nextStage) {
+        if (deadline.isExpired()) {
+            generationMetrics.recordAborted(nextStage);
+            throw new RenderDeadlineExceededException();
+        }
+    }
 
-            if (hexColor == null) {
-                hexColor = defaultColor.getHexCode();
-            } else if (!hexColor.startsWith("#")) {
-                hexColor = Color.valueOf(color.toUpperCase()).getHexCode();
-            }
+    private ByteMatrix generateModuleMatrix(GenerationSpec spec) {
+        MaskSelection maskSelection = spec.maskSelection() != null ? spec.maskSelection() : defaultMaskSelection;
 
-            return (0xFF << 24) | Integer.parseInt(hexColor.substring(1), 16);
-        } catch (IllegalArgumentException e) {
-            throw new InvalidColorException();
+        try {
+            return switch (maskSelection) {
+                case STANDARD -> Encoder.encode(spec.content(), spec.correction()).getMatrix();
+                case FAST -> FastMaskEncoder.encode(spec.content(), spec.correction());
+            };
+        } catch (WriterException e) {
+            throw new ImageProcessingException(e);
         }
     }
 
+    private record RenderJob(
+            QRCodeRaster raster,
+            GenerationSpec spec,
+            QRCodeGenerationMetrics.Tags tags,
+            RenderDeadline deadline
+    ) {}
+
 }
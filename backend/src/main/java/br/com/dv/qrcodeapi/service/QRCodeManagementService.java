@@ -1,5 +1,6 @@
 package br.com.dv.qrcodeapi.service;
 
+import br.com.dv.qrcodeapi.dto.ImageResponse;
 import br.com.dv.qrcodeapi.dto.QRCodeResponse;
 import br.com.dv.qrcodeapi.dto.SaveQRCodeRequest;
 
@@ -14,6 +15,8 @@ public interface QRCodeManagementService {
 
     QRCodeResponse findById(UUID id);
 
+    ImageResponse getImage(UUID id, Integer size, String format);
+
     QRCodeResponse update(UUID id, SaveQRCodeRequest request);
 
     void delete(UUID id);
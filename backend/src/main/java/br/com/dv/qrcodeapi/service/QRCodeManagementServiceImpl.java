@@ -1,15 +1,22 @@
 package br.com.dv.qrcodeapi.service;
 
+import br.com.dv.qrcodeapi.cache.SavedQRCodeImageStore;
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
 import br.com.dv.qrcodeapi.dto.QRCodeResponse;
 import br.com.dv.qrcodeapi.dto.SaveQRCodeRequest;
-import br.com.dv.qrcodeapi.entity.AppUser;
 import br.com.dv.qrcodeapi.entity.QRCode;
+import br.com.dv.qrcodeapi.event.QRCodeDeletedEvent;
+import br.com.dv.qrcodeapi.event.QRCodeSavedEvent;
 import br.com.dv.qrcodeapi.exception.QRCodeNotFoundException;
 import br.com.dv.qrcodeapi.mapper.QRCodeMapper;
 import br.com.dv.qrcodeapi.repository.AppUserRepository;
 import br.com.dv.qrcodeapi.repository.QRCodeRepository;
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
+import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,39 +27,47 @@ import java.util.UUID;
 @Service
 public class QRCodeManagementServiceImpl implements QRCodeManagementService {
 
-    private static final String USER_NOT_FOUND_MESSAGE = "User not found";
-
     private final QRCodeRepository qrCodeRepository;
     private final AppUserRepository appUserRepository;
     private final QRCodeMapper qrCodeMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QRCodeGenerationService qrCodeGenerationService;
+    private final QRCodeParameterValidator qrCodeParameterValidator;
+    private final SavedQRCodeImageStore savedImageStore;
 
     public QRCodeManagementServiceImpl(
             QRCodeRepository qrCodeRepository,
             AppUserRepository appUserRepository,
-            QRCodeMapper qrCodeMapper
+            QRCodeMapper qrCodeMapper,
+            ApplicationEventPublisher eventPublisher,
+            QRCodeGenerationService qrCodeGenerationService,
+            QRCodeParameterValidator qrCodeParameterValidator,
+            SavedQRCodeImageStore savedImageStore
     ) {
         this.qrCodeRepository = qrCodeRepository;
         this.appUserRepository = appUserRepository;
         this.qrCodeMapper = qrCodeMapper;
+        this.eventPublisher = eventPublisher;
+        this.qrCodeGenerationService = qrCodeGenerationService;
+        this.qrCodeParameterValidator = qrCodeParameterValidator;
+        this.savedImageStore = savedImageStore;
     }
 
     @Override
     @Transactional
     public QRCodeResponse save(SaveQRCodeRequest request) {
-        AppUser currentUser = getCurrentUser();
-
         QRCode qrCode = qrCodeMapper.toEntity(request);
-        qrCode.setOwner(currentUser);
+        qrCode.setOwner(appUserRepository.getReferenceById(getCurrentUserId()));
 
         QRCode saved = qrCodeRepository.saveAndFlush(qrCode);
+        publishSaved(saved);
         return qrCodeMapper.toResponse(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<QRCodeResponse> findAll() {
-        AppUser currentUser = getCurrentUser();
-        return qrCodeRepository.findByOwnerId(currentUser.getId())
+        return qrCodeRepository.findByOwnerId(getCurrentUserId())
                 .stream()
                 .map(qrCodeMapper::toResponse)
                 .toList();
@@ -61,43 +76,90 @@ public class QRCodeManagementServiceImpl implements QRCodeManagementService {
     @Override
     @Transactional(readOnly = true)
     public QRCodeResponse findById(UUID id) {
-        AppUser currentUser = getCurrentUser();
-        QRCode qrCode = qrCodeRepository.findByOwnerIdAndId(currentUser.getId(), id)
+        QRCode qrCode = qrCodeRepository.findByOwnerIdAndId(getCurrentUserId(), id)
                 .orElseThrow(() -> new QRCodeNotFoundException(id));
         return qrCodeMapper.toResponse(qrCode);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ImageResponse getImage(UUID id, Integer size, String format) {
+        QRCode qrCode = qrCodeRepository.findByOwnerIdAndId(getCurrentUserId(), id)
+                .orElseThrow(() -> new QRCodeNotFoundException(id));
+
+        boolean isOverride = isSizeOverride(qrCode, size) || isFormatOverride(qrCode, format);
+        if (!isOverride) {
+            ImageResponse stored = savedImageStore.get(id, qrCode.getUpdatedAt());
+            if (stored != null) {
+                return stored;
+            }
+        }
+
+        GenerationRequest request = qrCodeMapper.toGenerationRequest(qrCode);
+        GenerationSpec spec = qrCodeParameterValidator.parse(
+                request.content(),
+                size != null ? size : request.size(),
+                request.correction(),
+                format != null ? format : request.format(),
+                request.fcolor(),
+                request.bcolor(),
+                request.margin()
+        );
+        ImageResponse image = qrCodeGenerationService.generateQRCode(spec);
+
+        if (!isOverride) {
+            savedImageStore.put(id, qrCode.getUpdatedAt(), image);
+        }
+
+        return image;
+    }
+
     @Override
     @Transactional
     public QRCodeResponse update(UUID id, SaveQRCodeRequest request) {
-        AppUser currentUser = getCurrentUser();
-        QRCode qrCode = qrCodeRepository.findByOwnerIdAndId(currentUser.getId(), id)
+        QRCode qrCode = qrCodeRepository.findByOwnerIdAndId(getCurrentUserId(), id)
                 .orElseThrow(() -> new QRCodeNotFoundException(id));
 
         qrCodeMapper.update(qrCode, request);
 
-        QRCode updated = qrCodeRepository.save(qrCode);
+        QRCode updated = qrCodeRepository.saveAndFlush(qrCode);
+        publishSaved(updated);
         return qrCodeMapper.toResponse(updated);
     }
 
     @Override
     @Transactional
     public void delete(UUID id) {
-        AppUser currentUser = getCurrentUser();
-        QRCode qrCode = qrCodeRepository.findByOwnerIdAndId(currentUser.getId(), id)
+        QRCode qrCode = qrCodeRepository.findByOwnerIdAndId(getCurrentUserId(), id)
                 .orElseThrow(() -> new QRCodeNotFoundException(id));
 
         qrCode.setDeleted(true);
         qrCode.setDeletedAt(LocalDateTime.now());
 
         qrCodeRepository.save(qrCode);
+        eventPublisher.publishEvent(new QRCodeDeletedEvent(id));
+    }
+
+    private boolean isSizeOverride(QRCode qrCode, Integer size) {
+        return size != null && !size.equals(qrCode.getSize());
+    }
+
+    private boolean isFormatOverride(QRCode qrCode, String format) {
+        return format != null && !format.equalsIgnoreCase(qrCode.getFormat());
+    }
+
+    private void publishSaved(QRCode qrCode) {
+        eventPublisher.publishEvent(new QRCodeSavedEvent(
+                qrCode.getId(),
+                qrCode.getUpdatedAt(),
+                qrCodeMapper.toGenerationRequest(qrCode)
+        ));
     }
 
-    private AppUser getCurrentUser() {
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext()
+    private UUID getCurrentUserId() {
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext()
                 .getAuthentication().getPrincipal();
-        return appUserRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND_MESSAGE));
+        return user.id();
     }
 
 }
@@ -0,0 +1,15 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.dto.RotatedRefreshToken;
+
+import java.util.UUID;
+
+public interface RefreshTokenService {
+
+    String issue(UUID userId);
+
+    RotatedRefreshToken rotate(String refreshToken);
+
+    void revoke(String refreshToken);
+
+}
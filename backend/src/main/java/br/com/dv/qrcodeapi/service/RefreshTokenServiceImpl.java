@@ -0,0 +1,119 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.dto.RotatedRefreshToken;
+import br.com.dv.qrcodeapi.entity.AppUser;
+import br.com.dv.qrcodeapi.entity.RefreshToken;
+import br.com.dv.qrcodeapi.exception.InvalidRefreshTokenException;
+import br.com.dv.qrcodeapi.repository.AppUserRepository;
+import br.com.dv.qrcodeapi.repository.RefreshTokenRepository;
+import br.com.dv.qrcodeapi.security.AuthTokenProperties;
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AppUserRepository appUserRepository;
+    private final AuthTokenProperties properties;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(
+            RefreshTokenRepository refreshTokenRepository,
+            AppUserRepository appUserRepository,
+            AuthTokenProperties properties
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.appUserRepository = appUserRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    @Transactional
+    public String issue(UUID userId) {
+        refreshTokenRepository.deleteExpiredByOwnerId(userId, LocalDateTime.now());
+        return store(appUserRepository.getReferenceById(userId));
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public RotatedRefreshToken rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(InvalidRefreshTokenException::new);
+        AppUser owner = current.getOwner();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.isRevoked()) {
+            if (!isWithinReuseGracePeriod(current, now)) {
+                refreshTokenRepository.revokeAllByOwnerId(owner.getId());
+            }
+            throw new InvalidRefreshTokenException();
+        }
+
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        if (refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        return new RotatedRefreshToken(new AuthenticatedUser(owner.getId(), owner.getEmail()), store(owner));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.revokeByTokenHash(hash(refreshToken));
+        }
+    }
+
+    private boolean isWithinReuseGracePeriod(RefreshToken token, LocalDateTime now) {
+        LocalDateTime revokedAt = token.getRevokedAt();
+        return revokedAt != null && revokedAt.plus(properties.refreshReuseGracePeriod()).isAfter(now);
+    }
+
+    private String store(AppUser owner) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = TOKEN_ENCODER.encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setOwner(owner);
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(properties.refreshTokenTtl()));
+        refreshTokenRepository.save(refreshToken);
+
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+            return HEX_FORMAT.formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package br.com.dv.qrcodeapi.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsvReader implements Closeable {
+
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final int NO_PUSHBACK = -2;
+    private static final int MAX_FIELD_LENGTH = 8192;
+    private static final int MAX_FIELDS_PER_RECORD = 256;
+    private static final String FIELD_TOO_LONG_MESSAGE_TEMPLATE = "CSV field on line %d exceeds %d characters";
+    private static final String TOO_MANY_FIELDS_MESSAGE_TEMPLATE = "CSV record on line %d exceeds %d fields";
+
+    private final Reader reader;
+    private int pushback = NO_PUSHBACK;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    addField(fields, field);
+                    return fields;
+                } else if (c == QUOTE) {
+                    int next = read();
+                    if (next == QUOTE) {
+                        append(field, QUOTE);
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, (char) c);
+                }
+            } else if (c == QUOTE && field.isEmpty()) {
+                quoted = true;
+            } else if (c == DELIMITER) {
+                addField(fields, field);
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                addField(fields, field);
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+
+            c = read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void addField(List<String> fields, StringBuilder field) throws IOException {
+        if (fields.size() >= MAX_FIELDS_PER_RECORD) {
+            throw new IOException(String.format(TOO_MANY_FIELDS_MESSAGE_TEMPLATE, recordLine, MAX_FIELDS_PER_RECORD));
+        }
+        fields.add(field.toString());
+    }
+
+    private void append(StringBuilder field, char c) throws IOException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new IOException(String.format(FIELD_TOO_LONG_MESSAGE_TEMPLATE, recordLine, MAX_FIELD_LENGTH));
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        if (pushback != NO_PUSHBACK) {
+            int c = pushback;
+            pushback = NO_PUSHBACK;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+
+}
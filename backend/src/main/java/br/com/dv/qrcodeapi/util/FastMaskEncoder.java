@@ -0,0 +1,337 @@
+package br.com.dv.qrcodeapi.util;
+
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.decoder.Version;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import com.google.zxing.qrcode.encoder.QRCode;
+
+import java.util.Map;
+
+public final class FastMaskEncoder {
+
+    private static final String CANNOT_INSTANTIATE_CLASS_MESSAGE = "FastMaskEncoder class cannot be instantiated";
+
+    private static final int NUM_MASK_PATTERNS = 8;
+    private static final int BASE_MASK_PATTERN = 0;
+    private static final Map<EncodeHintType, Object> BASE_MASK_HINTS =
+            Map.of(EncodeHintType.QR_MASK_PATTERN, BASE_MASK_PATTERN);
+
+    private static final int FINDER_REGION_SIZE = 8;
+    private static final int TIMING_POSITION = 6;
+    private static final int FORMAT_INFO_POSITION = 8;
+    private static final int FORMAT_INFO_BITS = 15;
+    private static final int FORMAT_INFO_POLY = 0x537;
+    private static final int FORMAT_INFO_MASK = 0x5412;
+    private static final int[][] FORMAT_INFO_COORDINATES = {
+            {8, 0}, {8, 1}, {8, 2}, {8, 3}, {8, 4}, {8, 5}, {8, 7}, {8, 8},
+            {7, 8}, {5, 8}, {4, 8}, {3, 8}, {2, 8}, {1, 8}, {0, 8}
+    };
+    private static final int ALIGNMENT_PATTERN_RADIUS = 2;
+    private static final int MIN_VERSION_WITH_VERSION_INFO = 7;
+    private static final int VERSION_INFO_OFFSET = 11;
+    private static final int VERSION_INFO_LONG_SIDE = 6;
+    private static final int VERSION_INFO_SHORT_SIDE = 3;
+
+    private static final int RUN_PENALTY_THRESHOLD = 5;
+    private static final int N1 = 3;
+    private static final int N2 = 3;
+    private static final int N3 = 40;
+    private static final int N4 = 10;
+    private static final int FINDER_LIKE_LENGTH = 7;
+    private static final int FINDER_LIKE_QUIET_LENGTH = 4;
+
+    private FastMaskEncoder() {
+        throw new IllegalStateException(CANNOT_INSTANTIATE_CLASS_MESSAGE);
+    }
+
+    public static ByteMatrix encode(String content, ErrorCorrectionLevel ecLevel) throws WriterException {
+        QRCode base = Encoder.encode(content, ecLevel, BASE_MASK_HINTS);
+        byte[][] baseModules = base.getMatrix().getArray();
+        int dimension = baseModules.length;
+        boolean[][] functionModules = functionModules(base.getVersion(), dimension);
+        byte[][] unmasked = unmask(baseModules, functionModules);
+
+        ByteMatrix candidate = new ByteMatrix(dimension, dimension);
+        int bestMaskPattern = BASE_MASK_PATTERN;
+        int minPenalty = Integer.MAX_VALUE;
+
+        for (int maskPattern = 0; maskPattern < NUM_MASK_PATTERNS; maskPattern++) {
+            applyMask(unmasked, functionModules, ecLevel, maskPattern, candidate.getArray());
+            int penalty = penalty(candidate.getArray());
+            if (penalty < minPenalty) {
+                minPenalty = penalty;
+                bestMaskPattern = maskPattern;
+            }
+        }
+
+        applyMask(unmasked, functionModules, ecLevel, bestMaskPattern, candidate.getArray());
+        return candidate;
+    }
+
+    static int penalty(byte[][] modules) {
+        int dimension = modules.length;
+        int[] columnRuns = new int[dimension];
+        int[] columnColors = new int[dimension];
+        int runPenalty = 0;
+        int sameColorBlocks = 0;
+        int finderLikePatterns = 0;
+        int darkModules = 0;
+
+        for (int y = 0; y < dimension; y++) {
+            byte[] row = modules[y];
+            byte[] nextRow = y + 1 < dimension ? modules[y + 1] : null;
+            int rowRun = 0;
+            int rowColor = -1;
+
+            for (int x = 0; x < dimension; x++) {
+                int module = row[x];
+                darkModules += module;
+
+                if (module == rowColor) {
+                    rowRun++;
+                } else {
+                    runPenalty += runPenalty(rowRun);
+                    rowRun = 1;
+                    rowColor = module;
+                }
+
+                if (y == 0 || module != columnColors[x]) {
+                    runPenalty += runPenalty(columnRuns[x]);
+                    columnRuns[x] = 1;
+                    columnColors[x] = module;
+                } else {
+                    columnRuns[x]++;
+                }
+
+                if (nextRow != null && x + 1 < dimension
+                        && module == row[x + 1] && module == nextRow[x] && module == nextRow[x + 1]) {
+                    sameColorBlocks++;
+                }
+
+                if (module == 1) {
+                    if (isFinderLikeHorizontal(row, x)) {
+                        finderLikePatterns++;
+                    }
+                    if (isFinderLikeVertical(modules, x, y)) {
+                        finderLikePatterns++;
+                    }
+                }
+            }
+
+            runPenalty += runPenalty(rowRun);
+        }
+
+        for (int x = 0; x < dimension; x++) {
+            runPenalty += runPenalty(columnRuns[x]);
+        }
+
+        int totalModules = dimension * dimension;
+        int darkRatioPenalty = Math.abs(darkModules * 2 - totalModules) * 10 / totalModules * N4;
+        return runPenalty + sameColorBlocks * N2 + finderLikePatterns * N3 + darkRatioPenalty;
+    }
+
+    private static int runPenalty(int run) {
+        return run >= RUN_PENALTY_THRESHOLD ? N1 + (run - RUN_PENALTY_THRESHOLD) : 0;
+    }
+
+    private static boolean isFinderLikeHorizontal(byte[] row, int x) {
+        if (x + FINDER_LIKE_LENGTH > row.length) {
+            return false;
+        }
+
+        boolean finderLike = row[x + 1] == 0
+                && row[x + 2] == 1
+                && row[x + 3] == 1
+                && row[x + 4] == 1
+                && row[x + 5] == 0
+                && row[x + 6] == 1;
+
+        int end = x + FINDER_LIKE_LENGTH;
+        return finderLike && (isLightHorizontal(row, x - FINDER_LIKE_QUIET_LENGTH, x)
+                || isLightHorizontal(row, end, end + FINDER_LIKE_QUIET_LENGTH));
+    }
+
+    private static boolean isFinderLikeVertical(byte[][] modules, int x, int y) {
+        if (y + FINDER_LIKE_LENGTH > modules.length) {
+            return false;
+        }
+
+        boolean finderLike = modules[y + 1][x] == 0
+                && modules[y + 2][x] == 1
+                && modules[y + 3][x] == 1
+                && modules[y + 4][x] == 1
+                && modules[y + 5][x] == 0
+                && modules[y + 6][x] == 1;
+
+        int end = y + FINDER_LIKE_LENGTH;
+        return finderLike && (isLightVertical(modules, x, y - FINDER_LIKE_QUIET_LENGTH, y)
+                || isLightVertical(modules, x, end, end + FINDER_LIKE_QUIET_LENGTH));
+    }
+
+    private static boolean isLightHorizontal(byte[] row, int from, int to) {
+        if (from < 0 || to > row.length) {
+            return false;
+        }
+
+        for (int x = from; x < to; x++) {
+            if (row[x] == 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLightVertical(byte[][] modules, int x, int from, int to) {
+        if (from < 0 || to > modules.length) {
+            return false;
+        }
+
+        for (int y = from; y < to; y++) {
+            if (modules[y][x] == 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[][] unmask(byte[][] baseModules, boolean[][] functionModules) {
+        int dimension = baseModules.length;
+        byte[][] unmasked = new byte[dimension][];
+
+        for (int y = 0; y < dimension; y++) {
+            unmasked[y] = baseModules[y].clone();
+            for (int x = 0; x < dimension; x++) {
+                if (!functionModules[y][x] && isMasked(BASE_MASK_PATTERN, x, y)) {
+                    unmasked[y][x] ^= 1;
+                }
+            }
+        }
+
+        return unmasked;
+    }
+
+    private static void applyMask(
+            byte[][] unmasked,
+            boolean[][] functionModules,
+            ErrorCorrectionLevel ecLevel,
+            int maskPattern,
+            byte[][] target
+    ) {
+        int dimension = unmasked.length;
+
+        for (int y = 0; y < dimension; y++) {
+            byte[] source = unmasked[y];
+            byte[] row = target[y];
+            boolean[] functionRow = functionModules[y];
+            for (int x = 0; x < dimension; x++) {
+                row[x] = !functionRow[x] && isMasked(maskPattern, x, y) ? (byte) (source[x] ^ 1) : source[x];
+            }
+        }
+
+        embedFormatInfo(formatInfo(ecLevel, maskPattern), target);
+    }
+
+    private static boolean isMasked(int maskPattern, int x, int y) {
+        int intermediate = switch (maskPattern) {
+            case 0 -> (y + x) & 0x1;
+            case 1 -> y & 0x1;
+            case 2 -> x % 3;
+            case 3 -> (y + x) % 3;
+            case 4 -> ((y / 2) + (x / 3)) & 0x1;
+            case 5 -> ((y * x) & 0x1) + ((y * x) % 3);
+            case 6 -> (((y * x) & 0x1) + ((y * x) % 3)) & 0x1;
+            case 7 -> (((y * x) % 3) + ((y + x) & 0x1)) & 0x1;
+            default -> throw new IllegalArgumentException("Invalid mask pattern: " + maskPattern);
+        };
+        return intermediate == 0;
+    }
+
+    private static int formatInfo(ErrorCorrectionLevel ecLevel, int maskPattern) {
+        int typeInfo = (ecLevel.getBits() << 3) | maskPattern;
+        int polyDegree = bitLength(FORMAT_INFO_POLY) - 1;
+        int remainder = typeInfo << polyDegree;
+
+        while (bitLength(remainder) > polyDegree) {
+            remainder ^= FORMAT_INFO_POLY << (bitLength(remainder) - polyDegree - 1);
+        }
+
+        return ((typeInfo << polyDegree) | remainder) ^ FORMAT_INFO_MASK;
+    }
+
+    private static int bitLength(int value) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(value);
+    }
+
+    private static void embedFormatInfo(int formatInfo, byte[][] modules) {
+        int dimension = modules.length;
+
+        for (int i = 0; i < FORMAT_INFO_BITS; i++) {
+            byte bit = (byte) ((formatInfo >>> i) & 0x1);
+            int[] coordinates = FORMAT_INFO_COORDINATES[i];
+            modules[coordinates[1]][coordinates[0]] = bit;
+
+            if (i < 8) {
+                modules[FORMAT_INFO_POSITION][dimension - i - 1] = bit;
+            } else {
+                modules[dimension - 7 + (i - 8)][FORMAT_INFO_POSITION] = bit;
+            }
+        }
+    }
+
+    private static boolean[][] functionModules(Version version, int dimension) {
+        boolean[][] functionModules = new boolean[dimension][dimension];
+
+        markRegion(functionModules, 0, 0, FINDER_REGION_SIZE, FINDER_REGION_SIZE);
+        markRegion(functionModules, dimension - FINDER_REGION_SIZE, 0, FINDER_REGION_SIZE, FINDER_REGION_SIZE);
+        markRegion(functionModules, 0, dimension - FINDER_REGION_SIZE, FINDER_REGION_SIZE, FINDER_REGION_SIZE);
+        functionModules[dimension - FINDER_REGION_SIZE][FORMAT_INFO_POSITION] = true;
+
+        int[] centers = version.getAlignmentPatternCenters();
+        for (int centerY : centers) {
+            for (int centerX : centers) {
+                if (!functionModules[centerY][centerX]) {
+                    int size = ALIGNMENT_PATTERN_RADIUS * 2 + 1;
+                    markRegion(
+                            functionModules,
+                            centerX - ALIGNMENT_PATTERN_RADIUS,
+                            centerY - ALIGNMENT_PATTERN_RADIUS,
+                            size,
+                            size
+                    );
+                }
+            }
+        }
+
+        for (int i = FINDER_REGION_SIZE; i < dimension - FINDER_REGION_SIZE; i++) {
+            functionModules[TIMING_POSITION][i] = true;
+            functionModules[i][TIMING_POSITION] = true;
+        }
+
+        for (int i = 0; i <= FORMAT_INFO_POSITION; i++) {
+            functionModules[FORMAT_INFO_POSITION][i] = true;
+            functionModules[i][FORMAT_INFO_POSITION] = true;
+        }
+        markRegion(functionModules, dimension - FINDER_REGION_SIZE, FORMAT_INFO_POSITION, FINDER_REGION_SIZE, 1);
+        markRegion(functionModules, FORMAT_INFO_POSITION, dimension - 7, 1, FINDER_REGION_SIZE - 1);
+
+        if (version.getVersionNumber() >= MIN_VERSION_WITH_VERSION_INFO) {
+            int offset = dimension - VERSION_INFO_OFFSET;
+            markRegion(functionModules, 0, offset, VERSION_INFO_LONG_SIDE, VERSION_INFO_SHORT_SIDE);
+            markRegion(functionModules, offset, 0, VERSION_INFO_SHORT_SIDE, VERSION_INFO_LONG_SIDE);
+        }
+
+        return functionModules;
+    }
+
+    private static void markRegion(boolean[][] functionModules, int left, int top, int width, int height) {
+        for (int y = top; y < top + height; y++) {
+            for (int x = left; x < left + width; x++) {
+                functionModules[y][x] = true;
+            }
+        }
+    }
+
+}
@@ -2,14 +2,12 @@ package br.com.dv.qrcodeapi.util;
 
 import br.com.dv.qrcodeapi.enums.ImageFormat;
 import br.com.dv.qrcodeapi.exception.ImageProcessingException;
-import br.com.dv.qrcodeapi.exception.InvalidImageFormatException;
-import org.springframework.http.MediaType;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.OutputStream;
 
 public final class ImageUtils {
 
@@ -19,21 +17,58 @@ public final class ImageUtils {
         throw new IllegalStateException(CANNOT_INSTANTIATE_CLASS_MESSAGE);
     }
 
-    public static byte[] writeImageToByteArray(BufferedImage image, String format) {
+    public static byte[] writeRasterToByteArray(QRCodeRaster raster, ImageFormat format, int onColor, int offColor) {
         try (var outputStream = new ByteArrayOutputStream()) {
-            ImageIO.write(image, format, outputStream);
+            writeRaster(raster, format, onColor, offColor, outputStream);
             return outputStream.toByteArray();
         } catch (IOException e) {
             throw new ImageProcessingException(e);
         }
     }
 
-    public static MediaType getMediaTypeForImageFormat(String format) {
-        return Arrays.stream(ImageFormat.values())
-                .filter(f -> f.name().equalsIgnoreCase(format))
-                .findFirst()
-                .map(ImageFormat::getMediaType)
-                .orElseThrow(InvalidImageFormatException::new);
+    public static void writeRaster(
+            QRCodeRaster raster,
+            ImageFormat format,
+            int onColor,
+            int offColor,
+            OutputStream outputStream
+    ) throws IOException {
+        switch (format) {
+            case PNG -> PngEncoder.write(raster, onColor, offColor, outputStream);
+            case SVG -> SvgEncoder.write(raster, onColor, offColor, outputStream);
+            default -> writeImage(toBufferedImage(raster, onColor, offColor), format, outputStream);
+        }
+    }
+
+    public static boolean isEncodedFromRaster(ImageFormat format) {
+        return format == ImageFormat.PNG || format == ImageFormat.SVG;
+    }
+
+    public static void writeImage(BufferedImage image, ImageFormat format, OutputStream outputStream) throws IOException {
+        ImageIO.write(image, format.getFormatName(), outputStream);
+    }
+
+    public static BufferedImage toBufferedImage(QRCodeRaster raster, int onColor, int offColor) {
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] row = new int[width];
+
+        for (int y = 0; y < height; y++) {
+            raster.fillRow(y, row, onColor, offColor);
+            image.setRGB(0, y, width, 1, row, 0, width);
+        }
+
+        return image;
+    }
+
+    public static byte[] writeImageToByteArray(BufferedImage image, ImageFormat format) {
+        try (var outputStream = new ByteArrayOutputStream()) {
+            writeImage(image, format, outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new ImageProcessingException(e);
+        }
     }
 
 }
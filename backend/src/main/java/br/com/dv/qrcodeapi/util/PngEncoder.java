@@ -0,0 +1,156 @@
+package br.com.dv.qrcodeapi.util;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+public final class PngEncoder {
+
+    private static final String CANNOT_INSTANTIATE_CLASS_MESSAGE = "PngEncoder class cannot be instantiated";
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PLTE = "PLTE".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRNS = "tRNS".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int BIT_DEPTH = 1;
+    private static final int COLOR_TYPE_INDEXED = 3;
+    private static final int COMPRESSION_METHOD_DEFLATE = 0;
+    private static final int FILTER_METHOD_ADAPTIVE = 0;
+    private static final int INTERLACE_METHOD_NONE = 0;
+    private static final int FILTER_TYPE_NONE = 0;
+    private static final int IDAT_CHUNK_SIZE = 8192;
+
+    private PngEncoder() {
+        throw new IllegalStateException(CANNOT_INSTANTIATE_CLASS_MESSAGE);
+    }
+
+    public static void write(QRCodeRaster raster, int onColor, int offColor, OutputStream out) throws IOException {
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+
+        out.write(SIGNATURE);
+        writeHeader(out, width, height);
+        writePalette(out, onColor, offColor);
+        writeImageData(out, raster, width, height);
+        writeChunk(out, IEND, new byte[0], 0);
+    }
+
+    private static void writeHeader(OutputStream out, int width, int height) throws IOException {
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = BIT_DEPTH;
+        header[9] = COLOR_TYPE_INDEXED;
+        header[10] = COMPRESSION_METHOD_DEFLATE;
+        header[11] = FILTER_METHOD_ADAPTIVE;
+        header[12] = INTERLACE_METHOD_NONE;
+        writeChunk(out, IHDR, header, header.length);
+    }
+
+    private static void writePalette(OutputStream out, int onColor, int offColor) throws IOException {
+        // Palette index 0 is the background, index 1 the foreground, matching a dark module
+        byte[] palette = {
+                (byte) (offColor >> 16), (byte) (offColor >> 8), (byte) offColor,
+                (byte) (onColor >> 16), (byte) (onColor >> 8), (byte) onColor
+        };
+        writeChunk(out, PLTE, palette, palette.length);
+
+        int offAlpha = offColor >>> 24;
+        int onAlpha = onColor >>> 24;
+        if (offAlpha != 0xFF || onAlpha != 0xFF) {
+            byte[] transparency = {(byte) offAlpha, (byte) onAlpha};
+            writeChunk(out, TRNS, transparency, transparency.length);
+        }
+    }
+
+    private static void writeImageData(OutputStream out, QRCodeRaster raster, int width, int height) throws IOException {
+        byte[] row = new byte[1 + (width + 7) / 8];
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+        try {
+            var chunkStream = new IdatOutputStream(out);
+            var deflaterStream = new DeflaterOutputStream(chunkStream, deflater, IDAT_CHUNK_SIZE);
+
+            for (int y = 0; y < height; y++) {
+                row[0] = FILTER_TYPE_NONE;
+                raster.packRow(y, row, 1);
+                deflaterStream.write(row);
+            }
+
+            deflaterStream.finish();
+            chunkStream.flushChunk();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeChunk(OutputStream out, byte[] type, byte[] data, int length) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(data, 0, length);
+
+        byte[] intBuffer = new byte[4];
+        putInt(intBuffer, 0, length);
+        out.write(intBuffer);
+        out.write(type);
+        out.write(data, 0, length);
+        putInt(intBuffer, 0, (int) crc.getValue());
+        out.write(intBuffer);
+    }
+
+    private static void putInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    private static final class IdatOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[IDAT_CHUNK_SIZE];
+        private int count;
+
+        private IdatOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flushChunk();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buffer.length) {
+                    flushChunk();
+                }
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            if (count > 0) {
+                writeChunk(out, IDAT, buffer, count);
+                count = 0;
+            }
+        }
+
+    }
+
+}
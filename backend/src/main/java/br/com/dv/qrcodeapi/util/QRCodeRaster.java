@@ -0,0 +1,99 @@
+package br.com.dv.qrcodeapi.util;
+
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+
+import java.util.Arrays;
+
+public final class QRCodeRaster {
+
+    private final ByteMatrix modules;
+    private final int quietZone;
+    private final int width;
+    private final int height;
+    private final int multiple;
+    private final int leftPadding;
+    private final int topPadding;
+
+    public QRCodeRaster(ByteMatrix modules, int size, int quietZone) {
+        int inputWidth = modules.getWidth();
+        int inputHeight = modules.getHeight();
+        int qrWidth = inputWidth + (quietZone * 2);
+        int qrHeight = inputHeight + (quietZone * 2);
+
+        this.modules = modules;
+        this.quietZone = quietZone;
+        this.width = Math.max(size, qrWidth);
+        this.height = Math.max(size, qrHeight);
+        this.multiple = Math.min(width / qrWidth, height / qrHeight);
+        this.leftPadding = (width - (inputWidth * multiple)) / 2;
+        this.topPadding = (height - (inputHeight * multiple)) / 2;
+    }
+
+    public ByteMatrix getModules() {
+        return modules;
+    }
+
+    public int getQuietZone() {
+        return quietZone;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean get(int x, int y) {
+        int moduleY = moduleRow(y);
+        if (moduleY < 0 || x < leftPadding) {
+            return false;
+        }
+
+        int moduleX = (x - leftPadding) / multiple;
+        return moduleX < modules.getWidth() && modules.get(moduleX, moduleY) == 1;
+    }
+
+    public void packRow(int y, byte[] row, int offset) {
+        Arrays.fill(row, offset, offset + (width + 7) / 8, (byte) 0);
+
+        int moduleY = moduleRow(y);
+        if (moduleY < 0) {
+            return;
+        }
+
+        for (int moduleX = 0, x = leftPadding; moduleX < modules.getWidth(); moduleX++, x += multiple) {
+            if (modules.get(moduleX, moduleY) == 1) {
+                for (int i = x; i < x + multiple; i++) {
+                    row[offset + (i >> 3)] |= (byte) (0x80 >>> (i & 7));
+                }
+            }
+        }
+    }
+
+    public void fillRow(int y, int[] row, int onColor, int offColor) {
+        Arrays.fill(row, 0, width, offColor);
+
+        int moduleY = moduleRow(y);
+        if (moduleY < 0) {
+            return;
+        }
+
+        for (int moduleX = 0, x = leftPadding; moduleX < modules.getWidth(); moduleX++, x += multiple) {
+            if (modules.get(moduleX, moduleY) == 1) {
+                Arrays.fill(row, x, x + multiple, onColor);
+            }
+        }
+    }
+
+    private int moduleRow(int y) {
+        if (y < topPadding) {
+            return -1;
+        }
+
+        int moduleY = (y - topPadding) / multiple;
+        return moduleY < modules.getHeight() ? moduleY : -1;
+    }
+
+}
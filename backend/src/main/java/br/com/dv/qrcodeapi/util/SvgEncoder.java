@@ -0,0 +1,88 @@
+package br.com.dv.qrcodeapi.util;
+
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public final class SvgEncoder {
+
+    private static final String CANNOT_INSTANTIATE_CLASS_MESSAGE = "SvgEncoder class cannot be instantiated";
+
+    private static final String HEADER_TEMPLATE = "<svg xmlns=\"http://www.w3.org/2000/svg\" " +
+            "width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\" shape-rendering=\"crispEdges\">";
+    private static final String BACKGROUND_TEMPLATE = "<rect width=\"%d\" height=\"%d\" fill=\"%s\"%s/>";
+    private static final String PATH_START_TEMPLATE = "<path fill=\"%s\"%s d=\"";
+    private static final String PATH_END = "\"/>";
+    private static final String FOOTER = "</svg>";
+    private static final String OPACITY_TEMPLATE = " fill-opacity=\"%.3f\"";
+    private static final int BUFFER_SIZE = 4096;
+
+    private SvgEncoder() {
+        throw new IllegalStateException(CANNOT_INSTANTIATE_CLASS_MESSAGE);
+    }
+
+    public static void write(QRCodeRaster raster, int onColor, int offColor, OutputStream out) throws IOException {
+        ByteMatrix modules = raster.getModules();
+        int quietZone = raster.getQuietZone();
+        int viewWidth = modules.getWidth() + quietZone * 2;
+        int viewHeight = modules.getHeight() + quietZone * 2;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(String.format(Locale.ROOT, HEADER_TEMPLATE,
+                raster.getWidth(), raster.getHeight(), viewWidth, viewHeight));
+        writer.write(String.format(Locale.ROOT, BACKGROUND_TEMPLATE,
+                viewWidth, viewHeight, toHex(offColor), toOpacity(offColor)));
+        writer.write(String.format(Locale.ROOT, PATH_START_TEMPLATE, toHex(onColor), toOpacity(onColor)));
+        writeModules(writer, modules, quietZone);
+        writer.write(PATH_END);
+        writer.write(FOOTER);
+        writer.flush();
+    }
+
+    private static void writeModules(Writer writer, ByteMatrix modules, int quietZone) throws IOException {
+        int width = modules.getWidth();
+        int height = modules.getHeight();
+
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (modules.get(x, y) != 1) {
+                    x++;
+                    continue;
+                }
+
+                int start = x;
+                while (x < width && modules.get(x, y) == 1) {
+                    x++;
+                }
+
+                int run = x - start;
+                writer.write('M');
+                writer.write(Integer.toString(start + quietZone));
+                writer.write(' ');
+                writer.write(Integer.toString(y + quietZone));
+                writer.write('h');
+                writer.write(Integer.toString(run));
+                writer.write("v1h-");
+                writer.write(Integer.toString(run));
+                writer.write('z');
+            }
+        }
+    }
+
+    private static String toHex(int color) {
+        return String.format("#%06X", color & 0xFFFFFF);
+    }
+
+    private static String toOpacity(int color) {
+        int alpha = color >>> 24;
+        return alpha == 0xFF ? "" : String.format(Locale.ROOT, OPACITY_TEMPLATE, alpha / 255.0);
+    }
+
+}
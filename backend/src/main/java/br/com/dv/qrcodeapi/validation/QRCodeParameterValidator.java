@@ -1,14 +1,18 @@
 package br.com.dv.qrcodeapi.validation;
 
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
 import br.com.dv.qrcodeapi.enums.Color;
+import br.com.dv.qrcodeapi.enums.GenerationStage;
 import br.com.dv.qrcodeapi.enums.ImageFormat;
+import br.com.dv.qrcodeapi.enums.MaskSelection;
 import br.com.dv.qrcodeapi.exception.*;
+import br.com.dv.qrcodeapi.metrics.QRCodeGenerationMetrics;
 import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.EnumSet;
-import java.util.Set;
+import java.util.HexFormat;
 
 @Component
 public class QRCodeParameterValidator {
@@ -17,10 +21,28 @@ public class QRCodeParameterValidator {
     private static final int MAX_IMAGE_SIZE = 350;
     private static final int MIN_MARGIN = 0;
     private static final int MAX_MARGIN = 50;
-    private static final Set<ImageFormat> SUPPORTED_IMAGE_FORMATS = EnumSet.allOf(ImageFormat.class);
-    private static final Set<ErrorCorrectionLevel> CORRECTION_LEVELS = EnumSet.allOf(ErrorCorrectionLevel.class);
+    private static final int HEX_COLOR_LENGTH = 7;
+    private static final char HEX_COLOR_PREFIX = '#';
 
-    public void validate(
+    private final QRCodeGenerationMetrics generationMetrics;
+
+    public QRCodeParameterValidator(QRCodeGenerationMetrics generationMetrics) {
+        this.generationMetrics = generationMetrics;
+    }
+
+    public GenerationSpec parse(GenerationRequest request) {
+        return parse(
+                request.content(),
+                request.size(),
+                request.correction(),
+                request.format(),
+                request.fcolor(),
+                request.bcolor(),
+                request.margin()
+        );
+    }
+
+    public GenerationSpec parse(
             String content,
             int size,
             String correction,
@@ -29,13 +51,35 @@ public class QRCodeParameterValidator {
             String bcolor,
             int margin
     ) {
+        return parse(content, size, correction, format, fcolor, bcolor, margin, null);
+    }
+
+    public GenerationSpec parse(
+            String content,
+            int size,
+            String correction,
+            String format,
+            String fcolor,
+            String bcolor,
+            int margin,
+            String maskSelection
+    ) {
+        Timer.Sample validation = generationMetrics.start();
+
         validateContent(content);
         validateImageSize(size);
-        validateCorrectionLevel(correction);
-        validateImageFormat(format);
-        validateColorValue(fcolor);
-        validateColorValue(bcolor);
+        ErrorCorrectionLevel correctionLevel = parseCorrectionLevel(correction);
+        ImageFormat imageFormat = parseImageFormat(format);
+        int onColor = parseColor(fcolor, Color.BLACK);
+        int offColor = parseColor(bcolor, Color.WHITE);
         validateMargin(margin);
+        MaskSelection selection = parseMaskSelection(maskSelection);
+
+        GenerationSpec spec = GenerationSpec.of(
+                content, size, correctionLevel, imageFormat, onColor, offColor, margin, selection
+        );
+        generationMetrics.record(GenerationStage.VALIDATE, validation, generationMetrics.tags(spec));
+        return spec;
     }
 
     private void validateContent(String content) {
@@ -50,22 +94,42 @@ public class QRCodeParameterValidator {
         }
     }
 
-    private void validateCorrectionLevel(String correction) {
-        if (isCorrectionLevelInvalid(correction)) {
+    private ErrorCorrectionLevel parseCorrectionLevel(String correction) {
+        if (correction == null || correction.length() != 1) {
             throw new InvalidCorrectionLevelException();
         }
+
+        return switch (Character.toUpperCase(correction.charAt(0))) {
+            case 'L' -> ErrorCorrectionLevel.L;
+            case 'M' -> ErrorCorrectionLevel.M;
+            case 'Q' -> ErrorCorrectionLevel.Q;
+            case 'H' -> ErrorCorrectionLevel.H;
+            default -> throw new InvalidCorrectionLevelException();
+        };
     }
 
-    private void validateImageFormat(String format) {
-        if (isFormatInvalid(format)) {
+    private ImageFormat parseImageFormat(String format) {
+        ImageFormat imageFormat = ImageFormat.fromName(format);
+        if (imageFormat == null) {
             throw new InvalidImageFormatException();
         }
+        return imageFormat;
     }
 
-    private void validateColorValue(String color) {
-        if (isColorInvalid(color)) {
+    private int parseColor(String color, Color defaultColor) {
+        if (color == null) {
+            return defaultColor.getArgb();
+        }
+
+        if (isValidHexColor(color)) {
+            return Color.OPAQUE_ALPHA | HexFormat.fromHexDigits(color, 1, HEX_COLOR_LENGTH);
+        }
+
+        Color namedColor = Color.fromName(color);
+        if (namedColor == null) {
             throw new InvalidColorException();
         }
+        return namedColor.getArgb();
     }
 
     private void validateMargin(int margin) {
@@ -74,6 +138,18 @@ public class QRCodeParameterValidator {
         }
     }
 
+    private MaskSelection parseMaskSelection(String maskSelection) {
+        if (maskSelection == null) {
+            return null;
+        }
+
+        MaskSelection selection = MaskSelection.fromName(maskSelection);
+        if (selection == null) {
+            throw new InvalidMaskSelectionException();
+        }
+        return selection;
+    }
+
     private boolean isContentInvalid(String content) {
         return content == null || content.isBlank();
     }
@@ -82,30 +158,18 @@ public class QRCodeParameterValidator {
         return size < MIN_IMAGE_SIZE || size > MAX_IMAGE_SIZE;
     }
 
-    private boolean isCorrectionLevelInvalid(String correction) {
-        return correction == null ||
-                CORRECTION_LEVELS.stream().noneMatch(c -> c.name().equalsIgnoreCase(correction));
-    }
-
-    private boolean isFormatInvalid(String format) {
-        return format == null ||
-                SUPPORTED_IMAGE_FORMATS.stream().noneMatch(f -> f.name().equalsIgnoreCase(format));
-    }
-
-    private boolean isColorInvalid(String color) {
-        if (color == null) {
+    private boolean isValidHexColor(String color) {
+        if (color.length() != HEX_COLOR_LENGTH || color.charAt(0) != HEX_COLOR_PREFIX) {
             return false;
         }
-        return !isValidHexColor(color) && !isValidNamedColor(color);
-    }
 
-    private boolean isValidHexColor(String color) {
-        return color.matches("^#([A-Fa-f0-9]{6})$");
-    }
+        for (int i = 1; i < HEX_COLOR_LENGTH; i++) {
+            if (!HexFormat.isHexDigit(color.charAt(i))) {
+                return false;
+            }
+        }
 
-    private boolean isValidNamedColor(String color) {
-        return Arrays.stream(Color.values())
-                .anyMatch(c -> c.name().equalsIgnoreCase(color));
+        return true;
     }
 
     private boolean isMarginInvalid(int margin) {
@@ -0,0 +1,162 @@
+package br.com.dv.qrcodeapi.cache;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QRCodeImageDiskStoreTest {
+
+    private static final GenerationSpec KEY = spec();
+
+    @TempDir
+    private Path directory;
+
+    private static GenerationSpec spec() {
+        return spec("content");
+    }
+
+    private static GenerationSpec spec(String content) {
+        return GenerationSpec.of(content, 250, ErrorCorrectionLevel.L, ImageFormat.PNG, 0xFF000000, 0xFFFFFFFF, 4);
+    }
+
+    private QRCodeImageDiskStore createStore(boolean enabled) {
+        return createStore(enabled, DataSize.ofGigabytes(1), Duration.ofDays(30));
+    }
+
+    private QRCodeImageDiskStore createStore(boolean enabled, DataSize maxSize, Duration ttl) {
+        return new QRCodeImageDiskStore(
+                new QRCodeImageDiskStoreProperties(enabled, directory.toString(), maxSize, ttl, Duration.ZERO),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    private void age(QRCodeImageDiskStore store, GenerationSpec key, Duration age) throws IOException {
+        Files.setLastModifiedTime(store.find(key).path(), FileTime.from(Instant.now().minus(age)));
+    }
+
+    @Test
+    @DisplayName("Should store images under sharded directories named by the parameter hash")
+    void shouldStoreContentAddressedImage() throws IOException {
+        QRCodeImageDiskStore store = createStore(true);
+        byte[] imageData = {1, 2, 3, 4};
+
+        store.store(KEY, imageData);
+
+        String hash = KEY.hash();
+        Path expected = directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+        assertArrayEquals(imageData, Files.readAllBytes(expected));
+
+        var stored = store.find(spec());
+        assertNotNull(stored);
+        assertEquals(expected, stored.path());
+        assertEquals(imageData.length, stored.size());
+        assertArrayEquals(imageData, store.read(stored));
+    }
+
+    @Test
+    @DisplayName("Should leave no temporary files behind after an atomic write")
+    void shouldNotLeaveTemporaryFiles() throws IOException {
+        QRCodeImageDiskStore store = createStore(true);
+
+        store.store(KEY, new byte[]{1});
+        store.store(KEY, new byte[]{2});
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+        assertArrayEquals(new byte[]{2}, store.read(store.find(KEY)));
+    }
+
+    @Test
+    @DisplayName("Should keep an opened image readable after the sweeper removes its file")
+    void shouldReadOpenedImageAfterEviction() throws IOException {
+        QRCodeImageDiskStore store = createStore(true, DataSize.ofGigabytes(1), Duration.ZERO);
+        store.store(KEY, new byte[]{1, 2, 3});
+        var stored = store.find(KEY);
+
+        try (FileChannel channel = store.open(stored)) {
+            age(store, KEY, Duration.ofMinutes(1));
+            store.sweep();
+
+            ByteBuffer buffer = ByteBuffer.allocate(3);
+            channel.read(buffer, 0);
+            assertNull(store.find(KEY));
+            assertArrayEquals(new byte[]{1, 2, 3}, buffer.array());
+        }
+        assertNull(store.open(stored));
+    }
+
+    @Test
+    @DisplayName("Should report a miss for images that were never stored")
+    void shouldMissUnknownImage() {
+        assertNull(createStore(true).find(KEY));
+    }
+
+    @Test
+    @DisplayName("Should neither read nor write when disabled")
+    void shouldIgnoreStoreWhenDisabled() throws IOException {
+        QRCodeImageDiskStore store = createStore(false);
+
+        store.store(KEY, new byte[]{1, 2, 3});
+
+        assertNull(store.find(KEY));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete temporary files left behind by interrupted writes")
+    void shouldSweepAbandonedTemporaryFiles() throws IOException {
+        QRCodeImageDiskStore store = createStore(true);
+        store.store(KEY, new byte[]{1});
+        Path abandoned = Files.createTempFile(directory, "abandoned", ".tmp");
+        Path inFlight = Files.createTempFile(directory, "in-flight", ".tmp");
+        Files.setLastModifiedTime(abandoned, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+
+        store.sweep();
+
+        assertFalse(Files.exists(abandoned));
+        assertTrue(Files.exists(inFlight));
+        assertNotNull(store.find(KEY));
+    }
+
+    @Test
+    @DisplayName("Should evict images past their time to live and the oldest images beyond the size limit")
+    void shouldSweepExpiredAndOldestImages() throws IOException {
+        QRCodeImageDiskStore store = createStore(true, DataSize.ofBytes(20), Duration.ofDays(1));
+        GenerationSpec expired = spec("expired");
+        GenerationSpec oldest = spec("oldest");
+        GenerationSpec newest = spec("newest");
+        store.store(expired, new byte[10]);
+        store.store(oldest, new byte[15]);
+        store.store(newest, new byte[15]);
+        age(store, expired, Duration.ofDays(2));
+        age(store, oldest, Duration.ofHours(2));
+        age(store, newest, Duration.ofHours(1));
+
+        store.sweep();
+
+        assertNull(store.find(expired));
+        assertNull(store.find(oldest));
+        assertNotNull(store.find(newest));
+    }
+
+}
@@ -0,0 +1,129 @@
+package br.com.dv.qrcodeapi.cache;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QRCodeImageSlabCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QRCodeImageSlabCache slabCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        slabCache = createCache(true, 4);
+    }
+
+    private QRCodeImageSlabCache createCache(boolean enabled, int slots) {
+        return new QRCodeImageSlabCache(
+                new QRCodeImageSlabProperties(enabled, DataSize.ofBytes(slots * 1024L), DataSize.ofKilobytes(1)),
+                meterRegistry
+        );
+    }
+
+    private GenerationSpec key(String content) {
+        return GenerationSpec.of(content, 250, ErrorCorrectionLevel.L, ImageFormat.PNG, 0xFF000000, 0xFFFFFFFF, 4);
+    }
+
+    private ImageResponse image(int length, int seed) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + seed);
+        }
+        return new ImageResponse(data, MediaType.IMAGE_PNG);
+    }
+
+    @Test
+    @DisplayName("Should return the exact bytes of an image spread over several slots")
+    void shouldRoundTripMultiSlotImage() throws IOException {
+        ImageResponse image = image(2500, 7);
+        slabCache.put(key("a"), image);
+
+        try (var slabImage = slabCache.get(key("a"))) {
+            assertNotNull(slabImage);
+            assertEquals(MediaType.IMAGE_PNG, slabImage.mediaType());
+            assertEquals(2500, slabImage.length());
+            assertArrayEquals(image.imageData(), slabImage.toByteArray());
+
+            var outputStream = new ByteArrayOutputStream();
+            slabImage.writeTo(outputStream);
+            assertArrayEquals(image.imageData(), outputStream.toByteArray());
+        }
+
+        assertEquals(3, meterRegistry.get("qrcode.slab.slots.used").gauge().value());
+        assertEquals(2500, meterRegistry.get("qrcode.slab.used").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should evict entries that were not read since the clock hand last passed")
+    void shouldEvictUnreferencedEntries() {
+        slabCache.put(key("a"), image(1000, 1));
+        slabCache.put(key("b"), image(1000, 2));
+        slabCache.put(key("c"), image(1000, 3));
+        slabCache.put(key("d"), image(1000, 4));
+
+        slabCache.get(key("a")).close();
+        slabCache.get(key("a")).close();
+        slabCache.put(key("e"), image(1000, 5));
+
+        assertNotNull(slabCache.get(key("e")));
+        assertNotNull(slabCache.get(key("a")));
+        assertNull(slabCache.get(key("b")));
+        assertEquals(4, meterRegistry.get("qrcode.slab.entries").gauge().value());
+        assertEquals(1, meterRegistry.get("qrcode.slab.evictions").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should never evict an entry while a response is still reading it")
+    void shouldNotEvictPinnedEntries() {
+        slabCache.put(key("a"), image(4000, 1));
+
+        try (var pinned = slabCache.get(key("a"))) {
+            slabCache.put(key("b"), image(1000, 2));
+
+            assertNull(slabCache.get(key("b")));
+            assertArrayEquals(image(4000, 1).imageData(), pinned.toByteArray());
+            assertEquals(1, meterRegistry.get("qrcode.slab.rejections").counter().count());
+        }
+
+        slabCache.put(key("b"), image(1000, 2));
+        assertNotNull(slabCache.get(key("b")));
+        assertNull(slabCache.get(key("a")));
+    }
+
+    @Test
+    @DisplayName("Should reject images larger than the whole slab")
+    void shouldRejectOversizedImages() {
+        slabCache.put(key("a"), image(5000, 1));
+
+        assertNull(slabCache.get(key("a")));
+        assertEquals(1, meterRegistry.get("qrcode.slab.rejections").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should neither store nor serve images when disabled")
+    void shouldIgnoreImagesWhenDisabled() {
+        var disabledCache = new QRCodeImageSlabCache(
+                new QRCodeImageSlabProperties(false, DataSize.ofKilobytes(4), DataSize.ofKilobytes(1)),
+                new SimpleMeterRegistry()
+        );
+
+        disabledCache.put(key("a"), image(100, 1));
+
+        assertNull(disabledCache.get(key("a")));
+    }
+
+}
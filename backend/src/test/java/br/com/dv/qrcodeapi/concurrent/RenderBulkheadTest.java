@@ -0,0 +1,226 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import br.com.dv.qrcodeapi.enums.RenderLane;
+import br.com.dv.qrcodeapi.exception.RenderCapacityExceededException;
+import br.com.dv.qrcodeapi.exception.RenderDeadlineExceededException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderBulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private RenderBulkhead createBulkhead(int maxConcurrent, int queuedPerPermit, Duration maxWait, DataSize budget) {
+        return createBulkhead(maxConcurrent, queuedPerPermit, maxWait, budget, 0);
+    }
+
+    private RenderBulkhead createBulkhead(
+            int maxConcurrent,
+            int queuedPerPermit,
+            Duration maxWait,
+            DataSize budget,
+            int interactiveReservedPercent
+    ) {
+        return new RenderBulkhead(
+                new RenderBulkheadProperties(
+                        maxConcurrent,
+                        queuedPerPermit,
+                        maxWait,
+                        budget,
+                        Duration.ofSeconds(3),
+                        interactiveReservedPercent,
+                        maxWait
+                ),
+                meterRegistry
+        );
+    }
+
+    private GenerationSpec spec(int size) {
+        return GenerationSpec.of("content", size, ErrorCorrectionLevel.L, ImageFormat.PNG, 0xFF000000, 0xFFFFFFFF, 4);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get("qrcode.bulkhead." + name).gauge().value();
+    }
+
+    private double gauge(String name, RenderLane lane) {
+        return meterRegistry.get("qrcode.bulkhead." + name).tag("lane", lane.getTagValue()).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should track active renders and their estimated memory until permits are released")
+    void shouldTrackActivePermits() {
+        RenderBulkhead bulkhead = createBulkhead(2, 1, Duration.ofMillis(10), DataSize.ofMegabytes(1));
+
+        RenderBulkhead.Permit permit = bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none());
+
+        assertEquals(1, gauge("active", RenderLane.INTERACTIVE));
+        assertEquals(250 * 250 * 4, gauge("memory.used"));
+
+        permit.close();
+        permit.close();
+
+        assertEquals(0, gauge("active", RenderLane.INTERACTIVE));
+        assertEquals(0, gauge("memory.used"));
+    }
+
+    @Test
+    @DisplayName("Should reject immediately with a retry hint when the wait queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        RenderBulkhead bulkhead = createBulkhead(1, 0, Duration.ofSeconds(1), DataSize.ofMegabytes(1));
+        bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none());
+
+        var exception = assertThrows(
+                RenderCapacityExceededException.class,
+                () -> bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none())
+        );
+
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("qrcode.bulkhead.rejections").tag("lane", "interactive").tag("reason", "queue_full").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a queued render that cannot start within the maximum wait")
+    void shouldRejectAfterMaxWait() {
+        RenderBulkhead bulkhead = createBulkhead(1, 1, Duration.ofMillis(10), DataSize.ofMegabytes(1));
+        bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none());
+
+        assertThrows(
+                RenderCapacityExceededException.class,
+                () -> bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none())
+        );
+        assertEquals(1, meterRegistry.get("qrcode.bulkhead.rejections").tag("lane", "interactive").tag("reason", "timeout").counter().count());
+        assertEquals(0, gauge("queued", RenderLane.INTERACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for a permit once the render deadline has passed")
+    void shouldStopWaitingAtDeadline() {
+        RenderBulkhead bulkhead = createBulkhead(1, 1, Duration.ofMinutes(1), DataSize.ofMegabytes(1));
+        bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(
+                RenderDeadlineExceededException.class,
+                () -> bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.after(Duration.ofMillis(10)))
+        ));
+        assertEquals(1, meterRegistry.get("qrcode.bulkhead.rejections").tag("lane", "interactive").tag("reason", "deadline").counter().count());
+        assertEquals(0, gauge("queued", RenderLane.INTERACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should admit a queued render once a permit is released")
+    void shouldAdmitQueuedRenderAfterRelease() throws Exception {
+        RenderBulkhead bulkhead = createBulkhead(1, 1, Duration.ofSeconds(5), DataSize.ofMegabytes(1));
+        RenderBulkhead.Permit permit = bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none());
+
+        var queued = CompletableFuture.supplyAsync(
+                () -> bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none())
+        );
+        while (gauge("queued", RenderLane.INTERACTIVE) == 0) {
+            Thread.onSpinWait();
+        }
+        permit.close();
+
+        assertNotNull(queued.get());
+        assertEquals(1, gauge("active", RenderLane.INTERACTIVE));
+        assertEquals(0, gauge("queued", RenderLane.INTERACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should queue renders that would exceed the memory budget even when threads are free")
+    void shouldEnforceMemoryBudget() {
+        RenderBulkhead bulkhead = createBulkhead(4, 1, Duration.ofMillis(10), DataSize.ofBytes(350 * 350 * 4));
+        bulkhead.acquire(spec(350), RenderLane.INTERACTIVE, RenderDeadline.none());
+
+        assertThrows(
+                RenderCapacityExceededException.class,
+                () -> bulkhead.acquire(spec(150), RenderLane.INTERACTIVE, RenderDeadline.none())
+        );
+        assertEquals(1, gauge("active", RenderLane.INTERACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should admit a single render larger than the memory budget when nothing else is running")
+    void shouldAdmitOversizedRenderWhenIdle() {
+        RenderBulkhead bulkhead = createBulkhead(4, 1, Duration.ofMillis(10), DataSize.ofBytes(1024));
+
+        assertNotNull(bulkhead.acquire(spec(350), RenderLane.INTERACTIVE, RenderDeadline.none()));
+    }
+
+    @Test
+    @DisplayName("Should keep reserved capacity free for interactive renders while bulk renders saturate their lane")
+    void shouldReserveCapacityForInteractiveLane() {
+        RenderBulkhead bulkhead = createBulkhead(4, 1, Duration.ofMillis(10), DataSize.ofMegabytes(4), 50);
+        bulkhead.acquire(spec(250), RenderLane.BULK, RenderDeadline.none());
+        bulkhead.acquire(spec(250), RenderLane.BULK, RenderDeadline.none());
+
+        assertThrows(
+                RenderCapacityExceededException.class,
+                () -> bulkhead.acquire(spec(250), RenderLane.BULK, RenderDeadline.none())
+        );
+        assertNotNull(bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none()));
+        assertNotNull(bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none()));
+        assertEquals(2, gauge("active", RenderLane.BULK));
+        assertEquals(2, gauge("active", RenderLane.INTERACTIVE));
+        assertEquals(1, meterRegistry.get("qrcode.bulkhead.rejections")
+                .tag("lane", "bulk")
+                .tag("reason", "timeout")
+                .counter()
+                .count());
+    }
+
+    @Test
+    @DisplayName("Should hand a released permit to a waiting interactive render before any bulk render")
+    void shouldPrioritizeInteractiveWaiters() throws Exception {
+        RenderBulkhead bulkhead = createBulkhead(1, 1, Duration.ofSeconds(5), DataSize.ofMegabytes(1), 0);
+        RenderBulkhead.Permit permit = bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none());
+
+        var interactive = CompletableFuture.supplyAsync(
+                () -> bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none())
+        );
+        while (gauge("queued", RenderLane.INTERACTIVE) == 0) {
+            Thread.onSpinWait();
+        }
+        var bulk = CompletableFuture.supplyAsync(
+                () -> bulkhead.acquire(spec(250), RenderLane.BULK, RenderDeadline.none())
+        );
+        while (gauge("queued", RenderLane.BULK) == 0) {
+            Thread.onSpinWait();
+        }
+        permit.close();
+
+        interactive.get().close();
+        assertNotNull(bulk.get());
+        assertEquals(1, gauge("active", RenderLane.BULK));
+    }
+
+    @Test
+    @DisplayName("Should record the time each lane spends waiting for a permit")
+    void shouldRecordQueueTimePerLane() {
+        RenderBulkhead bulkhead = createBulkhead(2, 1, Duration.ofMillis(10), DataSize.ofMegabytes(1));
+
+        bulkhead.acquire(spec(250), RenderLane.INTERACTIVE, RenderDeadline.none()).close();
+        bulkhead.acquire(spec(250), RenderLane.BULK, RenderDeadline.none()).close();
+        bulkhead.acquire(spec(250), RenderLane.BULK, RenderDeadline.none()).close();
+
+        assertEquals(1, meterRegistry.get("qrcode.bulkhead.queue.time").tag("lane", "interactive").timer().count());
+        assertEquals(2, meterRegistry.get("qrcode.bulkhead.queue.time").tag("lane", "bulk").timer().count());
+    }
+
+}
@@ -0,0 +1,104 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderCoalescerTest {
+
+    private static final GenerationSpec KEY =
+            GenerationSpec.of("content", 250, ErrorCorrectionLevel.L, ImageFormat.PNG, 0xFF000000, 0xFFFFFFFF, 4);
+    private static final ImageResponse IMAGE = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+
+    private SimpleMeterRegistry meterRegistry;
+    private RenderCoalescer renderCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        renderCoalescer = new RenderCoalescer(new RenderCoalescerProperties(Duration.ofSeconds(5)), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should make the first caller the leader and hand its result to followers")
+    void shouldShareLeaderResult() throws Exception {
+        RenderCoalescer.Lease leader = renderCoalescer.acquire(KEY);
+        RenderCoalescer.Lease follower = renderCoalescer.acquire(KEY);
+
+        CompletableFuture<ImageResponse> shared = CompletableFuture.supplyAsync(() -> follower.await(RenderDeadline.none()));
+        leader.complete(IMAGE);
+
+        assertTrue(leader.isLeader());
+        assertFalse(follower.isLeader());
+        assertSame(IMAGE, shared.get());
+        assertEquals(1, meterRegistry.get("qrcode.coalescing.renders.avoided").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should start a new flight once the previous leader has finished")
+    void shouldReleaseKeyAfterCompletion() {
+        renderCoalescer.acquire(KEY).complete(IMAGE);
+
+        assertTrue(renderCoalescer.acquire(KEY).isLeader());
+    }
+
+    @Test
+    @DisplayName("Should tell followers to render themselves when the leader fails")
+    void shouldFallBackWhenLeaderFails() {
+        RenderCoalescer.Lease leader = renderCoalescer.acquire(KEY);
+        RenderCoalescer.Lease follower = renderCoalescer.acquire(KEY);
+
+        leader.fail(new IllegalStateException());
+
+        assertNull(follower.await(RenderDeadline.none()));
+        assertTrue(renderCoalescer.acquire(KEY).isLeader());
+        assertEquals(1, meterRegistry.get("qrcode.coalescing.fallbacks").tag("reason", "failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should abandon a stalled flight after the wait timeout")
+    void shouldAbandonStalledFlight() {
+        var impatientCoalescer = new RenderCoalescer(
+                new RenderCoalescerProperties(Duration.ofMillis(10)),
+                meterRegistry
+        );
+        impatientCoalescer.acquire(KEY);
+
+        assertNull(impatientCoalescer.acquire(KEY).await(RenderDeadline.none()));
+        assertTrue(impatientCoalescer.acquire(KEY).isLeader());
+        assertEquals(1, meterRegistry.get("qrcode.coalescing.fallbacks").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should stop following at the deadline without abandoning the leader's flight")
+    void shouldStopFollowingAtDeadline() {
+        RenderCoalescer.Lease leader = renderCoalescer.acquire(KEY);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () ->
+                assertNull(renderCoalescer.acquire(KEY).await(RenderDeadline.after(Duration.ofMillis(10)))));
+        assertFalse(renderCoalescer.acquire(KEY).isLeader());
+        assertEquals(0, meterRegistry.get("qrcode.coalescing.fallbacks").tag("reason", "timeout").counter().count());
+        leader.complete(IMAGE);
+    }
+
+    @Test
+    @DisplayName("Should not register detached leases")
+    void shouldNotRegisterDetachedLeases() {
+        RenderCoalescer.Lease detached = renderCoalescer.detached(KEY);
+
+        assertTrue(detached.isLeader());
+        assertTrue(renderCoalescer.acquire(KEY).isLeader());
+    }
+
+}
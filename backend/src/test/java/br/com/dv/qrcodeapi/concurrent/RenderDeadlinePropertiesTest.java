@@ -0,0 +1,75 @@
+package br.com.dv.qrcodeapi.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderDeadlinePropertiesTest {
+
+    private final RenderDeadlineProperties properties = new RenderDeadlineProperties(
+            "X-Render-Timeout-Ms",
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(30),
+            Duration.ofMinutes(30)
+    );
+
+    @Test
+    @DisplayName("Should honour a timeout requested through the header")
+    void shouldUseRequestedTimeout() {
+        RenderDeadline deadline = properties.deadlineFor("1", Duration.ofMinutes(10));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (!deadline.isExpired()) {
+                Thread.onSpinWait();
+            }
+        });
+        assertEquals(0, deadline.remainingNanos());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default timeout when the header is missing or malformed")
+    void shouldFallBackToDefaultTimeout() {
+        assertFalse(properties.deadlineFor(null, Duration.ofSeconds(10)).isExpired());
+        assertFalse(properties.deadlineFor("soon", Duration.ofSeconds(10)).isExpired());
+        assertFalse(properties.deadlineFor("-5", Duration.ofSeconds(10)).isExpired());
+    }
+
+    @Test
+    @DisplayName("Should expire immediately once cancelled, even without a time limit")
+    void shouldExpireWhenCancelled() {
+        RenderDeadline deadline = RenderDeadline.none();
+        assertEquals(Long.MAX_VALUE, deadline.remainingNanos());
+
+        deadline.cancel();
+
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remainingNanos());
+    }
+
+    @Test
+    @DisplayName("Should leave batches without an overall deadline unless the header asks for one")
+    void shouldNotBoundBatchesByDefault() {
+        assertFalse(properties.batchDeadlineFor(null).isExpired());
+        assertFalse(properties.batchDeadlineFor("soon").isExpired());
+        assertFalse(properties.batchDeadlineFor("60000").isExpired());
+    }
+
+    @Test
+    @DisplayName("Should expire an item deadline when its batch deadline is cancelled")
+    void shouldExpireItemDeadlineWithBatch() {
+        RenderDeadline batch = RenderDeadline.none();
+        RenderDeadline item = batch.within(Duration.ofMinutes(1));
+        assertFalse(item.isExpired());
+        assertTrue(item.remainingNanos() <= Duration.ofMinutes(1).toNanos());
+
+        batch.cancel();
+
+        assertTrue(item.isExpired());
+        assertTrue(batch.within(Duration.ofMinutes(1)).isExpired());
+        assertTrue(RenderDeadline.none().within(Duration.ZERO).isExpired());
+    }
+
+}
@@ -1,27 +1,43 @@
 package br.com.dv.qrcodeapi.controller;
 
-import br.com.dv.qrcodeapi.dto.LoginResponse;
+import br.com.dv.qrcodeapi.security.AuthTokenProperties;
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
 import br.com.dv.qrcodeapi.security.TestSecurityConfig;
 import br.com.dv.qrcodeapi.dto.RegisterResponse;
 import br.com.dv.qrcodeapi.dto.LoginRequest;
 import br.com.dv.qrcodeapi.dto.RegisterRequest;
+import br.com.dv.qrcodeapi.dto.RotatedRefreshToken;
 import br.com.dv.qrcodeapi.exception.EmailAlreadyExistsException;
 import br.com.dv.qrcodeapi.exception.InvalidCredentialsException;
+import br.com.dv.qrcodeapi.exception.InvalidRefreshTokenException;
+import br.com.dv.qrcodeapi.exception.LoginRateLimitExceededException;
+import br.com.dv.qrcodeapi.exception.PasswordHashingCapacityExceededException;
 import br.com.dv.qrcodeapi.service.AppUserServiceImpl;
+import br.com.dv.qrcodeapi.service.RefreshTokenService;
 import br.com.dv.qrcodeapi.security.JwtService;
+import br.com.dv.qrcodeapi.security.LoginRateLimiter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.UUID;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,6 +45,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ExtendWith(MockitoExtension.class)
 @WebMvcTest(AuthController.class)
 @Import(TestSecurityConfig.class)
+@EnableConfigurationProperties(AuthTokenProperties.class)
 class AuthControllerTest {
 
     @Autowired
@@ -40,6 +57,12 @@ class AuthControllerTest {
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -121,11 +144,12 @@ class AuthControllerTest {
     @DisplayName("Should return 200 OK and set cookie when login is successful")
     void shouldLogInWithValidCredentials() throws Exception {
         LoginRequest request = new LoginRequest("test@example.com", "password123");
-        LoginResponse response = new LoginResponse("User logged in successfully");
+        AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), request.email());
         String mockToken = "test.jwt.token";
 
-        when(appUserService.login(any(LoginRequest.class))).thenReturn(response);
-        when(jwtService.generateToken(request.email())).thenReturn(mockToken);
+        when(appUserService.login(any(LoginRequest.class))).thenReturn(user);
+        when(jwtService.generateToken(user)).thenReturn(mockToken);
+        when(refreshTokenService.issue(user.id())).thenReturn("refresh-token");
 
         mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -133,7 +157,42 @@ class AuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("User logged in successfully"))
                 .andExpect(cookie().exists("token"))
-                .andExpect(cookie().httpOnly("token", true));
+                .andExpect(cookie().httpOnly("token", true))
+                .andExpect(cookie().maxAge("token", 15 * 60))
+                .andExpect(cookie().value("refresh_token", "refresh-token"))
+                .andExpect(cookie().httpOnly("refresh_token", true))
+                .andExpect(cookie().path("refresh_token", "/api/auth"))
+                .andExpect(cookie().maxAge("refresh_token", 14 * 24 * 60 * 60));
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and rotate both cookies when the refresh token is valid")
+    void shouldRefreshSessionWithValidRefreshToken() throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "test@example.com");
+
+        when(refreshTokenService.rotate("old-refresh-token"))
+                .thenReturn(new RotatedRefreshToken(user, "new-refresh-token"));
+        when(jwtService.generateToken(user)).thenReturn("new.jwt.token");
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .cookie(new Cookie("refresh_token", "old-refresh-token")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Session refreshed successfully"))
+                .andExpect(cookie().value("token", "new.jwt.token"))
+                .andExpect(cookie().value("refresh_token", "new-refresh-token"));
+
+        verify(appUserService, never()).login(any(LoginRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should return 401 Unauthorized when the refresh token is missing or invalid")
+    void shouldReturnUnauthorizedForInvalidRefreshToken() throws Exception {
+        when(refreshTokenService.rotate(isNull())).thenThrow(new InvalidRefreshTokenException());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .cookie(new Cookie("token", "expired.jwt.token")))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Invalid or expired refresh token"));
     }
 
     @Test
@@ -202,13 +261,50 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.error").value("Invalid email or password"));
     }
 
+    @Test
+    @DisplayName("Should return 429 Too Many Requests with Retry-After when login attempts are rate limited")
+    void shouldReturnTooManyRequestsWhenLoginIsRateLimited() throws Exception {
+        LoginRequest request = new LoginRequest("test@example.com", "password123");
+
+        doThrow(new LoginRateLimitExceededException(60))
+                .when(loginRateLimiter).checkLogin(anyString(), anyString());
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "60"))
+                .andExpect(jsonPath("$.error").value("Too many attempts, try again later"));
+
+        verify(appUserService, never()).login(any(LoginRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should return 503 Service Unavailable with Retry-After when password hashing is saturated")
+    void shouldReturnServiceUnavailableWhenPasswordHashingIsSaturated() throws Exception {
+        RegisterRequest request = new RegisterRequest("test@example.com", "password123", "Test User");
+
+        when(appUserService.register(any(RegisterRequest.class)))
+                .thenThrow(new PasswordHashingCapacityExceededException(1));
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     @DisplayName("Should return 200 OK and clear cookie when logout")
     void shouldLogoutSuccessfully() throws Exception {
-        mockMvc.perform(post("/api/auth/logout"))
+        mockMvc.perform(post("/api/auth/logout")
+                        .cookie(new Cookie("refresh_token", "refresh-token")))
                 .andExpect(status().isOk())
                 .andExpect(cookie().exists("token"))
-                .andExpect(cookie().maxAge("token", 0));
+                .andExpect(cookie().maxAge("token", 0))
+                .andExpect(cookie().maxAge("refresh_token", 0));
+
+        verify(refreshTokenService).revoke("refresh-token");
     }
 
 }
@@ -0,0 +1,48 @@
+package br.com.dv.qrcodeapi.controller;
+
+import br.com.dv.qrcodeapi.dto.RegisterRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "server.forward-headers-strategy=native",
+                "security.login-rate-limit.per-ip-attempts=1"
+        }
+)
+class AuthRateLimitForwardingTest {
+
+    private static final String REGISTER_PATH = "/api/auth/register";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private ResponseEntity<String> register(String forwardedFor, String email) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        var request = new RegisterRequest(email, "password123", "Test User");
+        return restTemplate.postForEntity(REGISTER_PATH, new HttpEntity<>(request, headers), String.class);
+    }
+
+    @Test
+    @DisplayName("Should give each client forwarded by the trusted frontend its own rate limit bucket")
+    void shouldLimitForwardedClientsSeparately() {
+        assertEquals(HttpStatus.OK, register("203.0.113.10", "first@example.com").getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, register("203.0.113.10", "second@example.com").getStatusCode());
+
+        assertEquals(HttpStatus.OK, register("198.51.100.20", "third@example.com").getStatusCode());
+    }
+
+}
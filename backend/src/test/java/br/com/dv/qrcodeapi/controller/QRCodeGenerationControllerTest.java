@@ -1,22 +1,34 @@
 package br.com.dv.qrcodeapi.controller;
 
+import br.com.dv.qrcodeapi.concurrent.RenderDeadlineProperties;
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
 import br.com.dv.qrcodeapi.dto.ImageResponse;
-import br.com.dv.qrcodeapi.exception.InvalidColorException;
-import br.com.dv.qrcodeapi.exception.InvalidContentException;
-import br.com.dv.qrcodeapi.exception.InvalidCorrectionLevelException;
-import br.com.dv.qrcodeapi.exception.InvalidMarginException;
+import br.com.dv.qrcodeapi.dto.ImageStreamResponse;
+import br.com.dv.qrcodeapi.enums.Color;
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import br.com.dv.qrcodeapi.exception.RenderCapacityExceededException;
+import br.com.dv.qrcodeapi.exception.RenderDeadlineExceededException;
+import br.com.dv.qrcodeapi.metrics.QRCodeGenerationMetrics;
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
 import br.com.dv.qrcodeapi.security.JwtService;
 import br.com.dv.qrcodeapi.security.TestSecurityConfig;
+import br.com.dv.qrcodeapi.service.QRCodeBatchService;
 import br.com.dv.qrcodeapi.service.QRCodeGenerationService;
+import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
@@ -24,23 +36,52 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.UUID;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.when;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 @WebMvcTest(QRCodeGenerationController.class)
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, QRCodeParameterValidator.class})
+@EnableConfigurationProperties(RenderDeadlineProperties.class)
 class QRCodeGenerationControllerTest {
 
+    private static final String DEFAULT_ETAG = GenerationSpec.of(
+            "test", 250, ErrorCorrectionLevel.L, ImageFormat.PNG, Color.BLACK.getArgb(), Color.WHITE.getArgb(), 4
+    ).eTag();
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockBean
     private QRCodeGenerationService qrCodeGenerationService;
 
+    @MockBean
+    private QRCodeBatchService qrCodeBatchService;
+
+    @MockBean
+    private QRCodeGenerationMetrics generationMetrics;
+
     @MockBean
     private JwtService jwtService;
 
@@ -49,21 +90,33 @@ class QRCodeGenerationControllerTest {
     @BeforeEach
     void setUp() {
         authCookie = new Cookie("token", "test.jwt.token");
-        when(jwtService.extractEmail("test.jwt.token")).thenReturn("test@example.com");
-        when(jwtService.validateToken("test.jwt.token", "test@example.com")).thenReturn(true);
+        when(jwtService.extractAuthenticatedUser("test.jwt.token"))
+                .thenReturn(new AuthenticatedUser(UUID.randomUUID(), "test@example.com"));
     }
 
     private MockHttpServletRequestBuilder withCookie(MockHttpServletRequestBuilder builder) {
         return builder.cookie(authCookie);
     }
 
+    private ImageStreamResponse image(byte[] imageData, MediaType mediaType) {
+        return ImageStreamResponse.of(new ImageResponse(imageData, mediaType));
+    }
+
+    private ImageStreamResponse storedImage(Path directory, byte[] imageData) throws IOException {
+        Path file = Files.write(directory.resolve("image"), imageData);
+        return ImageStreamResponse.ofFile(
+                MediaType.IMAGE_PNG,
+                file,
+                FileChannel.open(file, StandardOpenOption.READ),
+                imageData.length
+        );
+    }
+
     @Test
     @DisplayName("Should successfully generate QR code when all parameters are valid")
     void shouldGenerateQRCodeWithValidParameters() throws Exception {
-        var mockResponse = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), anyString(), anyString(), anyString(), anyInt())
-        ).thenReturn(mockResponse);
+        var mockResponse = image(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+        when(qrCodeGenerationService.streamQRCode(any(), any())).thenReturn(mockResponse);
 
         mockMvc.perform(withCookie(get("/api/qrcode/generate"))
                         .param("contents", "test")
@@ -81,10 +134,8 @@ class QRCodeGenerationControllerTest {
     @Test
     @DisplayName("Should successfully generate QR code when only required parameters are provided")
     void shouldGenerateQRCodeWithDefaultParameters() throws Exception {
-        var mockResponse = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), anyString(), anyString(), anyString(), anyInt())
-        ).thenReturn(mockResponse);
+        var mockResponse = image(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+        when(qrCodeGenerationService.streamQRCode(any(), any())).thenReturn(mockResponse);
 
         mockMvc.perform(withCookie(get("/api/qrcode/generate")).param("contents", "test"))
                 .andExpect(status().isOk())
@@ -106,10 +157,6 @@ class QRCodeGenerationControllerTest {
     @ValueSource(strings = {"X", "Y", "invalid", "A"})
     @DisplayName("Should return 400 Bad Request when correction level is not L, M, Q, or H")
     void shouldReturnBadRequestForInvalidCorrectionLevel(String correction) throws Exception {
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), eq(correction), anyString(), anyString(), anyString(), anyInt())
-        ).thenThrow(new InvalidCorrectionLevelException());
-
         mockMvc.perform(withCookie(get("/api/qrcode/generate"))
                         .param("contents", "test")
                         .param("size", "250")
@@ -121,10 +168,6 @@ class QRCodeGenerationControllerTest {
     @Test
     @DisplayName("Should return 400 Bad Request when content parameter is empty")
     void shouldReturnBadRequestForEmptyContent() throws Exception {
-        when(qrCodeGenerationService.generateQRCode(
-                eq(""), anyInt(), anyString(), anyString(), anyString(), anyString(), anyInt())
-        ).thenThrow(new InvalidContentException());
-
         mockMvc.perform(withCookie(get("/api/qrcode/generate")).param("contents", ""))
                 .andExpect(status().isBadRequest());
     }
@@ -138,10 +181,12 @@ class QRCodeGenerationControllerTest {
             case "gif" -> MediaType.IMAGE_GIF;
             default -> MediaType.IMAGE_PNG;
         };
-        var mockResponse = new ImageResponse(new byte[]{1, 2, 3}, expectedType);
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), eq(format), anyString(), anyString(), anyInt())
-        ).thenReturn(mockResponse);
+        var mockResponse = image(new byte[]{1, 2, 3}, expectedType);
+        when(qrCodeGenerationService.streamQRCode(
+                argThat(spec -> spec.format() == ImageFormat.fromName(format)),
+                any()
+        ))
+                .thenReturn(mockResponse);
 
         mockMvc.perform(withCookie(get("/api/qrcode/generate"))
                         .param("contents", "test")
@@ -154,10 +199,8 @@ class QRCodeGenerationControllerTest {
     @DisplayName("Should successfully generate QR code when content contains special characters")
     void shouldGenerateQRCodeWithSpecialCharacters() throws Exception {
         String specialContent = "Hello! こんにちは! ❤️ #@$%";
-        var mockResponse = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), anyString(), anyString(), anyString(), anyInt())
-        ).thenReturn(mockResponse);
+        var mockResponse = image(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+        when(qrCodeGenerationService.streamQRCode(any(), any())).thenReturn(mockResponse);
 
         mockMvc.perform(withCookie(get("/api/qrcode/generate")).param("contents", specialContent))
                 .andExpect(status().isOk())
@@ -168,10 +211,8 @@ class QRCodeGenerationControllerTest {
     @DisplayName("Should successfully generate QR code when content exceeds typical length")
     void shouldGenerateQRCodeWithLongContent() throws Exception {
         String longContent = "a".repeat(1000);
-        var mockResponse = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), anyString(), anyString(), anyString(), anyInt())
-        ).thenReturn(mockResponse);
+        var mockResponse = image(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+        when(qrCodeGenerationService.streamQRCode(any(), any())).thenReturn(mockResponse);
 
         mockMvc.perform(withCookie(get("/api/qrcode/generate")).param("contents", longContent))
                 .andExpect(status().isOk())
@@ -181,10 +222,9 @@ class QRCodeGenerationControllerTest {
     @Test
     @DisplayName("Should successfully generate QR code with valid named color")
     void shouldGenerateQRCodeWithValidNamedColor() throws Exception {
-        var mockResponse = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), anyString(), eq("RED"), anyString(), anyInt())
-        ).thenReturn(mockResponse);
+        var mockResponse = image(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+        when(qrCodeGenerationService.streamQRCode(argThat(spec -> spec.onColor() == Color.RED.getArgb()), any()))
+                .thenReturn(mockResponse);
 
         mockMvc.perform(withCookie(get("/api/qrcode/generate"))
                         .param("contents", "test")
@@ -196,10 +236,6 @@ class QRCodeGenerationControllerTest {
     @Test
     @DisplayName("Should return 400 Bad Request when color name is invalid")
     void shouldReturnBadRequestForInvalidColor() throws Exception {
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), anyString(), eq("RANDOM"), anyString(), anyInt())
-        ).thenThrow(new InvalidColorException());
-
         mockMvc.perform(withCookie(get("/api/qrcode/generate"))
                         .param("contents", "test")
                         .param("fcolor", "RANDOM"))
@@ -209,10 +245,9 @@ class QRCodeGenerationControllerTest {
     @Test
     @DisplayName("Should successfully generate QR code with custom background color")
     void shouldGenerateQRCodeWithCustomBackgroundColor() throws Exception {
-        var mockResponse = new ImageResponse(new byte[]{4, 5, 6}, MediaType.IMAGE_PNG);
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), anyString(), anyString(), eq("#FFFF00"), anyInt())
-        ).thenReturn(mockResponse);
+        var mockResponse = image(new byte[]{4, 5, 6}, MediaType.IMAGE_PNG);
+        when(qrCodeGenerationService.streamQRCode(argThat(spec -> spec.offColor() == Color.YELLOW.getArgb()), any()))
+                .thenReturn(mockResponse);
 
         mockMvc.perform(withCookie(get("/api/qrcode/generate"))
                         .param("contents", "test")
@@ -225,10 +260,9 @@ class QRCodeGenerationControllerTest {
     @Test
     @DisplayName("Should successfully generate QR code with valid margin value")
     void shouldGenerateQRCodeWithValidMargin() throws Exception {
-        var mockResponse = new ImageResponse(new byte[]{7, 8, 9}, MediaType.IMAGE_PNG);
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), anyString(), anyString(), anyString(), eq(10))
-        ).thenReturn(mockResponse);
+        var mockResponse = image(new byte[]{7, 8, 9}, MediaType.IMAGE_PNG);
+        when(qrCodeGenerationService.streamQRCode(argThat(spec -> spec.margin() == 10), any()))
+                .thenReturn(mockResponse);
 
         mockMvc.perform(withCookie(get("/api/qrcode/generate"))
                         .param("contents", "test")
@@ -241,16 +275,201 @@ class QRCodeGenerationControllerTest {
     @Test
     @DisplayName("Should return 400 Bad Request when margin value is out of allowed range")
     void shouldReturnBadRequestForInvalidMargin() throws Exception {
-        when(qrCodeGenerationService.generateQRCode(
-                anyString(), anyInt(), anyString(), anyString(), anyString(), anyString(), eq(999))
-        ).thenThrow(new InvalidMarginException());
-
         mockMvc.perform(withCookie(get("/api/qrcode/generate"))
                         .param("contents", "test")
                         .param("margin", "999"))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Should return 503 Service Unavailable with Retry-After when render capacity is exhausted")
+    void shouldReturnServiceUnavailableWhenRenderCapacityIsExceeded() throws Exception {
+        when(qrCodeGenerationService.streamQRCode(any(), any()))
+                .thenThrow(new RenderCapacityExceededException(1));
+
+        mockMvc.perform(withCookie(get("/api/qrcode/generate"))
+                        .param("contents", "test"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("Should return 504 Gateway Timeout when rendering misses the request deadline")
+    void shouldReturnGatewayTimeoutWhenDeadlineIsExceeded() throws Exception {
+        when(qrCodeGenerationService.streamQRCode(any(), any()))
+                .thenThrow(new RenderDeadlineExceededException());
+
+        mockMvc.perform(withCookie(get("/api/qrcode/generate"))
+                        .param("contents", "test")
+                        .header("X-Render-Timeout-Ms", "50"))
+                .andExpect(status().isGatewayTimeout());
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when the mask selection mode is unknown")
+    void shouldReturnBadRequestForInvalidMaskSelection() throws Exception {
+        mockMvc.perform(withCookie(get("/api/qrcode/generate"))
+                        .param("contents", "test")
+                        .param("mask", "parallel"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should send Content-Length when the image size is known up front")
+    void shouldSendContentLengthForKnownImageSize() throws Exception {
+        when(qrCodeGenerationService.streamQRCode(any(), any()))
+                .thenReturn(image(new byte[]{1, 2, 3, 4}, MediaType.IMAGE_PNG));
+
+        mockMvc.perform(withCookie(get("/api/qrcode/generate")).param("contents", "test"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", 4))
+                .andExpect(content().bytes(new byte[]{1, 2, 3, 4}));
+    }
+
+    @Test
+    @DisplayName("Should stream the image body when its size is not known up front")
+    void shouldStreamImageWithUnknownSize() throws Exception {
+        var streamedResponse = new ImageStreamResponse(
+                MediaType.IMAGE_PNG,
+                ImageStreamResponse.UNKNOWN_CONTENT_LENGTH,
+                out -> out.write(new byte[]{5, 6})
+        );
+        when(qrCodeGenerationService.streamQRCode(any(), any())).thenReturn(streamedResponse);
+
+        mockMvc.perform(withCookie(get("/api/qrcode/generate")).param("contents", "test"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().bytes(new byte[]{5, 6}));
+    }
+
+    @Test
+    @DisplayName("Should close the streamed image once the response is written")
+    void shouldCloseStreamedImage() throws Exception {
+        Closeable resource = mock(Closeable.class);
+        var streamedResponse = new ImageStreamResponse(
+                MediaType.IMAGE_PNG, 2, out -> out.write(new byte[]{5, 6}), null, resource);
+        when(qrCodeGenerationService.streamQRCode(any(), any())).thenReturn(streamedResponse);
+
+        mockMvc.perform(withCookie(get("/api/qrcode/generate")).param("contents", "test"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(new byte[]{5, 6}));
+
+        verify(resource).close();
+    }
+
+    @Test
+    @DisplayName("Should copy a stored image file into the response when sendfile is unavailable")
+    void shouldTransferStoredImageFile(@TempDir Path directory) throws Exception {
+        ImageStreamResponse storedResponse = storedImage(directory, new byte[]{7, 8, 9});
+        when(qrCodeGenerationService.streamQRCode(any(), any())).thenReturn(storedResponse);
+
+        mockMvc.perform(withCookie(get("/api/qrcode/generate")).param("contents", "test"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", 3))
+                .andExpect(content().bytes(new byte[]{7, 8, 9}));
+    }
+
+    @Test
+    @DisplayName("Should hand a stored image file to the container when sendfile is supported")
+    void shouldUseSendfileForStoredImage(@TempDir Path directory) throws Exception {
+        ImageStreamResponse storedResponse = storedImage(directory, new byte[]{7, 8, 9});
+        when(qrCodeGenerationService.streamQRCode(any(), any())).thenReturn(storedResponse);
+
+        mockMvc.perform(withCookie(get("/api/qrcode/generate"))
+                        .param("contents", "test")
+                        .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", 3))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", storedResponse.file().toString()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 0L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 3L))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Should send a strong ETag and immutable caching headers with the image")
+    void shouldSendETagAndCacheControl() throws Exception {
+        when(qrCodeGenerationService.streamQRCode(any(), any()))
+                .thenReturn(image(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG));
+
+        mockMvc.perform(withCookie(get("/api/qrcode/generate")).param("contents", "test"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", DEFAULT_ETAG))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    @DisplayName("Should return 304 Not Modified without rendering when If-None-Match matches the ETag")
+    void shouldReturnNotModifiedForMatchingETag() throws Exception {
+        mockMvc.perform(withCookie(get("/api/qrcode/generate"))
+                        .param("contents", "test")
+                        .header("If-None-Match", DEFAULT_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", DEFAULT_ETAG))
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(qrCodeGenerationService, never()).streamQRCode(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stream a ZIP archive for a batch of generation requests")
+    void shouldStreamZipForBatchRequest() throws Exception {
+        doAnswer(invocation -> {
+            Iterator<GenerationRequest> requests = invocation.getArgument(0);
+            OutputStream outputStream = invocation.getArgument(1);
+            while (requests.hasNext()) {
+                outputStream.write(requests.next().content().getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        }).when(qrCodeBatchService).writeZip(any(), any(), any());
+
+        mockMvc.perform(withCookie(post("/api/qrcode/generate/batch"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"content\":\"a\"},{\"content\":\"b\",\"size\":150}]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"qrcodes.zip\""))
+                .andExpect(content().string("ab"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when the batch body is not a JSON array")
+    void shouldReturnBadRequestForNonArrayBatch() throws Exception {
+        mockMvc.perform(withCookie(post("/api/qrcode/generate/batch"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"a\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should stream a ZIP archive for an uploaded CSV")
+    void shouldStreamZipForCsvUpload() throws Exception {
+        doAnswer(invocation -> {
+            Iterator<GenerationRequest> requests = invocation.getArgument(0);
+            OutputStream outputStream = invocation.getArgument(1);
+            while (requests.hasNext()) {
+                outputStream.write(requests.next().content().getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        }).when(qrCodeBatchService).writeZip(any(), any(), any());
+
+        mockMvc.perform(withCookie(post("/api/qrcode/generate/csv"))
+                        .contentType("text/csv")
+                        .content("content,size\nfirst,150\nsecond,\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(content().string("firstsecond"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when the CSV has no content column")
+    void shouldReturnBadRequestForCsvWithoutContentColumn() throws Exception {
+        mockMvc.perform(withCookie(post("/api/qrcode/generate/csv"))
+                        .contentType("text/csv")
+                        .content("size,margin\n150,4\n"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should return 401 Unauthorized when authentication cookie is missing")
     void shouldReturnUnauthorizedForMissingAuth() throws Exception {
@@ -263,7 +482,7 @@ class QRCodeGenerationControllerTest {
     @DisplayName("Should return 401 Unauthorized when JWT token is invalid")
     void shouldReturnUnauthorizedForInvalidToken() throws Exception {
         Cookie invalidCookie = new Cookie("token", "invalid.jwt.token");
-        when(jwtService.validateToken(anyString(), anyString())).thenReturn(false);
+        when(jwtService.extractAuthenticatedUser("invalid.jwt.token")).thenThrow(new JwtException("Invalid signature"));
 
         mockMvc.perform(get("/api/qrcode/generate")
                         .cookie(invalidCookie)
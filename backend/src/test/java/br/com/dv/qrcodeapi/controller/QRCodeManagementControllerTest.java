@@ -1,9 +1,11 @@
 package br.com.dv.qrcodeapi.controller;
 
+import br.com.dv.qrcodeapi.dto.ImageResponse;
 import br.com.dv.qrcodeapi.dto.QRCodeResponse;
 import br.com.dv.qrcodeapi.dto.SaveQRCodeRequest;
 import br.com.dv.qrcodeapi.entity.QRCode;
 import br.com.dv.qrcodeapi.exception.QRCodeNotFoundException;
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
 import br.com.dv.qrcodeapi.security.JwtService;
 import br.com.dv.qrcodeapi.security.TestSecurityConfig;
 import br.com.dv.qrcodeapi.service.QRCodeManagementService;
@@ -27,6 +29,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -51,8 +55,8 @@ class QRCodeManagementControllerTest {
     @BeforeEach
     void setUp() {
         authCookie = new Cookie("token", "test.jwt.token");
-        when(jwtService.extractEmail("test.jwt.token")).thenReturn("test@example.com");
-        when(jwtService.validateToken("test.jwt.token", "test@example.com")).thenReturn(true);
+        when(jwtService.extractAuthenticatedUser("test.jwt.token"))
+                .thenReturn(new AuthenticatedUser(UUID.randomUUID(), "test@example.com"));
     }
 
     @Test
@@ -165,6 +169,38 @@ class QRCodeManagementControllerTest {
         verify(qrCodeManagementService).findById(id);
     }
 
+    @Test
+    @DisplayName("Should return 200 and the image of a saved QR code")
+    void shouldReturnSavedQRCodeImage() throws Exception {
+        UUID id = UUID.randomUUID();
+        byte[] imageData = {1, 2, 3};
+
+        when(qrCodeManagementService.getImage(id, 300, "png"))
+                .thenReturn(new ImageResponse(imageData, MediaType.IMAGE_PNG));
+
+        mockMvc.perform(get("/api/qrcode/" + id + "/image")
+                        .param("size", "300")
+                        .param("type", "png")
+                        .cookie(authCookie))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(header().longValue("Content-Length", imageData.length))
+                .andExpect(content().bytes(imageData));
+    }
+
+    @Test
+    @DisplayName("Should return 404 Not Found when requesting the image of a non-existent QR code")
+    void shouldReturnNotFoundForNonexistentQRCodeImage() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        when(qrCodeManagementService.getImage(id, null, null))
+                .thenThrow(new QRCodeNotFoundException(id));
+
+        mockMvc.perform(get("/api/qrcode/" + id + "/image")
+                        .cookie(authCookie))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should return 200 and successfully update QR code when request data is valid")
     void shouldUpdateQRCodeWithValidData() throws Exception {
@@ -0,0 +1,168 @@
+package br.com.dv.qrcodeapi.event;
+
+import br.com.dv.qrcodeapi.cache.SavedQRCodeImageProperties;
+import br.com.dv.qrcodeapi.cache.SavedQRCodeImageStore;
+import br.com.dv.qrcodeapi.concurrent.RenderExecutors;
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import br.com.dv.qrcodeapi.enums.RenderLane;
+import br.com.dv.qrcodeapi.exception.InvalidContentException;
+import br.com.dv.qrcodeapi.metrics.QRCodeGenerationMetrics;
+import br.com.dv.qrcodeapi.service.QRCodeGenerationService;
+import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QRCodePrerenderListenerTest {
+
+    private static final ImageResponse IMAGE = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+
+    @Mock
+    private QRCodeGenerationService qrCodeGenerationService;
+
+    @Mock
+    private RenderExecutors renderExecutors;
+
+    @Mock
+    private ExecutorService prerenderExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QRCodeParameterValidator qrCodeParameterValidator;
+    private SavedQRCodeImageStore savedImageStore;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        qrCodeParameterValidator = new QRCodeParameterValidator(new QRCodeGenerationMetrics(meterRegistry));
+        savedImageStore = new SavedQRCodeImageStore(
+                new SavedQRCodeImageProperties(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1), 1),
+                meterRegistry
+        );
+    }
+
+    private QRCodePrerenderListener createListener(boolean enabled) {
+        return new QRCodePrerenderListener(
+                qrCodeGenerationService,
+                qrCodeParameterValidator,
+                savedImageStore,
+                renderExecutors,
+                new SavedQRCodeImageProperties(enabled, DataSize.ofMegabytes(1), Duration.ofMinutes(1), 1),
+                meterRegistry
+        );
+    }
+
+    private void runTasksInline() {
+        when(renderExecutors.getPrerenderExecutor()).thenReturn(prerenderExecutor);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(prerenderExecutor).execute(any());
+    }
+
+    private QRCodeSavedEvent createEvent(UUID id, LocalDateTime updatedAt) {
+        var request = new GenerationRequest("content", 250, "M", "png", "#000000", "#FFFFFF", 4);
+        return new QRCodeSavedEvent(id, updatedAt, request);
+    }
+
+    @Test
+    @DisplayName("Should render a saved QR code and store it under its version")
+    void shouldRenderSavedQRCode() {
+        runTasksInline();
+        UUID id = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        var spec = qrCodeParameterValidator.parse("content", 250, "M", "png", "#000000", "#FFFFFF", 4);
+        when(qrCodeGenerationService.generateQRCode(eq(spec), eq(RenderLane.BULK), any())).thenReturn(IMAGE);
+
+        createListener(true).onSaved(createEvent(id, updatedAt));
+
+        assertEquals(IMAGE, savedImageStore.get(id, updatedAt));
+        assertNull(savedImageStore.get(id, updatedAt.plusSeconds(1)));
+        assertEquals(1, meterRegistry.get("qrcode.prerender").tag("outcome", "rendered").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the stored image without rendering when pre-rendering is disabled")
+    void shouldOnlyInvalidateWhenDisabled() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        savedImageStore.put(id, updatedAt, IMAGE);
+
+        createListener(false).onSaved(createEvent(id, updatedAt));
+
+        assertNull(savedImageStore.get(id, updatedAt));
+        verifyNoInteractions(renderExecutors, qrCodeGenerationService);
+    }
+
+    @Test
+    @DisplayName("Should count a failed render without storing anything")
+    void shouldCountFailedRender() {
+        runTasksInline();
+        UUID id = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(qrCodeGenerationService.generateQRCode(any(), any(), any())).thenThrow(new InvalidContentException());
+
+        createListener(true).onSaved(createEvent(id, updatedAt));
+
+        assertNull(savedImageStore.get(id, updatedAt));
+        assertEquals(1, meterRegistry.get("qrcode.prerender").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should drop the render and count it when the pre-render queue is full")
+    void shouldDropRenderWhenQueueIsFull() {
+        when(renderExecutors.getPrerenderExecutor()).thenReturn(prerenderExecutor);
+        doThrow(new RejectedExecutionException()).when(prerenderExecutor).execute(any());
+        UUID id = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.now();
+
+        createListener(true).onSaved(createEvent(id, updatedAt));
+
+        assertNull(savedImageStore.get(id, updatedAt));
+        assertEquals(1, meterRegistry.get("qrcode.prerender").tag("outcome", "dropped").counter().count());
+        verifyNoInteractions(qrCodeGenerationService);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the stored image when a QR code is deleted")
+    void shouldInvalidateOnDelete() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        savedImageStore.put(id, updatedAt, IMAGE);
+
+        createListener(true).onDeleted(new QRCodeDeletedEvent(id));
+
+        assertNull(savedImageStore.get(id, updatedAt));
+    }
+
+    @Test
+    @DisplayName("Should not replace a newer stored image with an older render")
+    void shouldKeepNewerVersion() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        var newer = new ImageResponse(new byte[]{9}, MediaType.IMAGE_PNG);
+
+        savedImageStore.put(id, updatedAt.plusSeconds(1), newer);
+        savedImageStore.put(id, updatedAt, IMAGE);
+
+        assertEquals(newer, savedImageStore.get(id, updatedAt.plusSeconds(1)));
+    }
+
+}
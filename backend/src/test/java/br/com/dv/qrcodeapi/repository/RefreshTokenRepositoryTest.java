@@ -0,0 +1,104 @@
+package br.com.dv.qrcodeapi.repository;
+
+import br.com.dv.qrcodeapi.entity.AppUser;
+import br.com.dv.qrcodeapi.entity.RefreshToken;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class RefreshTokenRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        user = new AppUser();
+        user.setEmail("test@example.com");
+        user.setPassword("password");
+        user.setName("Test User");
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    private RefreshToken persistToken(String hash, LocalDateTime expiresAt) {
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash);
+        token.setOwner(user);
+        token.setExpiresAt(expiresAt);
+        entityManager.persist(token);
+        return token;
+    }
+
+    @Test
+    @DisplayName("Should find a refresh token by hash with its owner already loaded")
+    void shouldFindByTokenHashWithOwner() {
+        persistToken("a".repeat(64), LocalDateTime.now().plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash("a".repeat(64));
+
+        assertTrue(found.isPresent());
+        assertTrue(Hibernate.isInitialized(found.get().getOwner()));
+        assertEquals("test@example.com", found.get().getOwner().getEmail());
+    }
+
+    @Test
+    @DisplayName("Should revoke every refresh token of an owner")
+    void shouldRevokeAllByOwnerId() {
+        persistToken("a".repeat(64), LocalDateTime.now().plusDays(1));
+        persistToken("b".repeat(64), LocalDateTime.now().plusDays(1));
+        entityManager.flush();
+
+        refreshTokenRepository.revokeAllByOwnerId(user.getId());
+        entityManager.clear();
+
+        assertTrue(refreshTokenRepository.findAll().stream().allMatch(RefreshToken::isRevoked));
+    }
+
+    @Test
+    @DisplayName("Should revoke a refresh token only once when it is still active")
+    void shouldRevokeIfActiveOnlyOnce() {
+        RefreshToken token = persistToken("a".repeat(64), LocalDateTime.now().plusDays(1));
+        entityManager.flush();
+
+        assertEquals(1, refreshTokenRepository.revokeIfActive(token.getId(), LocalDateTime.now()));
+        assertEquals(0, refreshTokenRepository.revokeIfActive(token.getId(), LocalDateTime.now()));
+        entityManager.clear();
+
+        RefreshToken revoked = refreshTokenRepository.findByTokenHash("a".repeat(64)).orElseThrow();
+        assertTrue(revoked.isRevoked());
+        assertNotNull(revoked.getRevokedAt());
+    }
+
+    @Test
+    @DisplayName("Should delete only the expired refresh tokens of an owner")
+    void shouldDeleteExpiredByOwnerId() {
+        persistToken("a".repeat(64), LocalDateTime.now().minusDays(1));
+        persistToken("b".repeat(64), LocalDateTime.now().plusDays(1));
+        entityManager.flush();
+
+        refreshTokenRepository.deleteExpiredByOwnerId(user.getId(), LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(1, refreshTokenRepository.count());
+        assertTrue(refreshTokenRepository.findByTokenHash("b".repeat(64)).isPresent());
+    }
+
+}
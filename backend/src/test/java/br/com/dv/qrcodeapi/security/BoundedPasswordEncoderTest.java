@@ -0,0 +1,132 @@
+package br.com.dv.qrcodeapi.security;
+
+import br.com.dv.qrcodeapi.exception.PasswordHashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BlockingPasswordEncoder delegate;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = new BlockingPasswordEncoder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        delegate.release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    private BoundedPasswordEncoder createEncoder(int queuedPerThread, Duration maxWait) {
+        encoder = new BoundedPasswordEncoder(
+                delegate,
+                new PasswordHashingProperties(1, queuedPerThread, maxWait, Duration.ofSeconds(2)),
+                meterRegistry
+        );
+        return encoder;
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("security.password.hashing.rejections").tag("reason", reason).counter().count();
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("security.password.hashing.queued").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for queued hashing work");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Should hash on the dedicated pool and record hash latency per operation")
+    void shouldDelegateOnHashingPool() {
+        delegate.release.countDown();
+        BoundedPasswordEncoder bounded = createEncoder(1, Duration.ofSeconds(5));
+
+        assertEquals("hashed:secret", bounded.encode("secret"));
+        assertTrue(bounded.matches("secret", "hashed:secret"));
+
+        assertTrue(delegate.threadName.startsWith("password-hashing-"));
+        assertEquals(1, meterRegistry.get("security.password.hashing.duration").tag("operation", "encode")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("security.password.hashing.duration").tag("operation", "matches")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject hashing with a retry hint once the pool and its queue are full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        BoundedPasswordEncoder bounded = createEncoder(1, Duration.ofSeconds(5));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> bounded.encode("first"));
+        assertTrue(delegate.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> bounded.encode("second"));
+        awaitQueued(1);
+
+        PasswordHashingCapacityExceededException exception = assertThrows(
+                PasswordHashingCapacityExceededException.class,
+                () -> bounded.encode("third")
+        );
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1, rejections("queue_full"));
+
+        delegate.release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should give up on hashing that does not finish within the maximum wait")
+    void shouldTimeOutSlowHashing() {
+        BoundedPasswordEncoder bounded = createEncoder(1, Duration.ofMillis(50));
+
+        assertThrows(PasswordHashingCapacityExceededException.class, () -> bounded.encode("slow"));
+        assertEquals(1, rejections("timeout"));
+    }
+
+    private static final class BlockingPasswordEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile String threadName;
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            threadName = Thread.currentThread().getName();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package br.com.dv.qrcodeapi.security;
+
+import br.com.dv.qrcodeapi.entity.AppUser;
+import br.com.dv.qrcodeapi.repository.AppUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    private MeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(new PrincipalCacheProperties(100, Duration.ofMinutes(5)), meterRegistry);
+        userDetailsService = new CustomUserDetailsService(appUserRepository, principalCache);
+    }
+
+    private static AppUser user(String password) {
+        AppUser user = new AppUser();
+        user.setEmail(EMAIL);
+        user.setPassword(password);
+        user.setName("Test User");
+        return user;
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "security.principals").tag("result", result)
+                .functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Should query the repository once for repeated lookups of the same principal")
+    void shouldCachePrincipal() {
+        when(appUserRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user("hash")));
+
+        UserDetails first = userDetailsService.loadUserByUsername(EMAIL);
+        UserDetails second = userDetailsService.loadUserByUsername(EMAIL);
+
+        assertEquals(EMAIL, first.getUsername());
+        assertEquals("hash", second.getPassword());
+        verify(appUserRepository, times(1)).findByEmail(EMAIL);
+        assertEquals(1.0, cacheGets("hit"));
+        assertEquals(1.0, cacheGets("miss"));
+    }
+
+    @Test
+    @DisplayName("Should hand out copies so erasing credentials does not corrupt the cached principal")
+    void shouldReturnIndependentCopies() {
+        when(appUserRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user("hash")));
+
+        ((User) userDetailsService.loadUserByUsername(EMAIL)).eraseCredentials();
+
+        assertEquals("hash", userDetailsService.loadUserByUsername(EMAIL).getPassword());
+    }
+
+    @Test
+    @DisplayName("Should reload the principal after it is invalidated")
+    void shouldReloadAfterInvalidation() {
+        when(appUserRepository.findByEmail(EMAIL))
+                .thenReturn(Optional.of(user("old")))
+                .thenReturn(Optional.of(user("new")));
+
+        userDetailsService.loadUserByUsername(EMAIL);
+        principalCache.invalidate(EMAIL);
+
+        assertEquals("new", userDetailsService.loadUserByUsername(EMAIL).getPassword());
+        verify(appUserRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown users")
+    void shouldNotCacheMissingUser() {
+        when(appUserRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(EMAIL));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(EMAIL));
+        verify(appUserRepository, times(2)).findByEmail(EMAIL);
+    }
+
+}
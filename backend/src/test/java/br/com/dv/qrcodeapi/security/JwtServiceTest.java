@@ -0,0 +1,87 @@
+package br.com.dv.qrcodeapi.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(UUID.randomUUID(), "test@example.com");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtService createService(boolean cacheEnabled) {
+        return new JwtService(
+                new AuthTokenProperties(Duration.ofMinutes(15), Duration.ofDays(14), Duration.ofSeconds(10)),
+                new JwtVerificationCacheProperties(cacheEnabled, 100, Duration.ofMinutes(1)),
+                meterRegistry
+        );
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "security.verified.tokens").tag("result", result)
+                .functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Should extract the user id and email of a token it issued")
+    void shouldExtractAuthenticatedUser() {
+        JwtService jwtService = createService(false);
+
+        assertEquals(USER, jwtService.extractAuthenticatedUser(jwtService.generateToken(USER)));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens that do not carry a user id")
+    void shouldRejectTokenWithoutUserId() {
+        JwtService jwtService = createService(false);
+        String token = Jwts.builder().subject(USER.email()).signWith(Jwts.SIG.HS256.key().build()).compact();
+
+        assertThrows(JwtException.class, () -> jwtService.extractAuthenticatedUser(token));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens whose signature does not verify")
+    void shouldRejectTamperedToken() {
+        JwtService jwtService = createService(false);
+        String token = jwtService.generateToken(USER);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.extractAuthenticatedUser(tampered));
+        assertThrows(JwtException.class, () -> jwtService.extractAuthenticatedUser("not.a.token"));
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeated requests from the verification cache")
+    void shouldCacheVerifiedToken() {
+        JwtService jwtService = createService(true);
+        String token = jwtService.generateToken(USER);
+
+        assertEquals(USER, jwtService.extractAuthenticatedUser(token));
+        assertEquals(USER, jwtService.extractAuthenticatedUser(token));
+        assertEquals(USER, jwtService.extractAuthenticatedUser(token));
+
+        assertEquals(1.0, cacheGets("miss"));
+        assertEquals(2.0, cacheGets("hit"));
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void shouldNotCacheInvalidToken() {
+        JwtService jwtService = createService(true);
+
+        assertThrows(JwtException.class, () -> jwtService.extractAuthenticatedUser("not.a.token"));
+        assertThrows(JwtException.class, () -> jwtService.extractAuthenticatedUser("not.a.token"));
+
+        assertEquals(0.0, cacheGets("hit"));
+    }
+
+}
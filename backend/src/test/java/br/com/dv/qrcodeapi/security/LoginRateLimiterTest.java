@@ -0,0 +1,91 @@
+package br.com.dv.qrcodeapi.security;
+
+import br.com.dv.qrcodeapi.exception.LoginRateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private static final String IP = "203.0.113.7";
+    private static final String EMAIL = "test@example.com";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private LoginRateLimiter createLimiter(boolean enabled, int perIp, int perAccount) {
+        return new LoginRateLimiter(
+                new LoginRateLimitProperties(enabled, perIp, perAccount, Duration.ofSeconds(30), 1000),
+                meterRegistry
+        );
+    }
+
+    private double limited(String scope) {
+        return meterRegistry.get("security.login.rate.limited").tag("scope", scope).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should limit login attempts per account regardless of email casing")
+    void shouldLimitPerAccount() {
+        LoginRateLimiter limiter = createLimiter(true, 100, 2);
+
+        limiter.checkLogin("198.51.100.1", EMAIL);
+        limiter.checkLogin("198.51.100.2", "Test@Example.com");
+
+        LoginRateLimitExceededException exception = assertThrows(
+                LoginRateLimitExceededException.class,
+                () -> limiter.checkLogin("198.51.100.3", EMAIL)
+        );
+        assertEquals(30, exception.getRetryAfterSeconds());
+        assertEquals(1, limited("account"));
+        assertDoesNotThrow(() -> limiter.checkLogin(IP, "other@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should limit login and registration attempts per client address across accounts")
+    void shouldLimitPerIp() {
+        LoginRateLimiter limiter = createLimiter(true, 2, 100);
+
+        limiter.checkLogin(IP, "first@example.com");
+        limiter.checkRegistration(IP);
+
+        assertThrows(LoginRateLimitExceededException.class, () -> limiter.checkLogin(IP, "third@example.com"));
+        assertEquals(1, limited("ip"));
+        assertDoesNotThrow(() -> limiter.checkLogin("198.51.100.1", "third@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should reset the account budget after a successful login")
+    void shouldResetAccountAfterSuccess() {
+        LoginRateLimiter limiter = createLimiter(true, 100, 1);
+
+        limiter.checkLogin(IP, EMAIL);
+        limiter.recordSuccessfulLogin(EMAIL);
+
+        assertDoesNotThrow(() -> limiter.checkLogin(IP, EMAIL));
+    }
+
+    @Test
+    @DisplayName("Should not limit anything when disabled")
+    void shouldAllowEverythingWhenDisabled() {
+        LoginRateLimiter limiter = createLimiter(false, 1, 1);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.checkLogin(IP, EMAIL);
+            limiter.checkRegistration(IP);
+        }
+
+        assertEquals(0, limited("ip"));
+        assertEquals(0, limited("account"));
+    }
+
+}
@@ -3,6 +3,7 @@ package br.com.dv.qrcodeapi.service;
 import br.com.dv.qrcodeapi.dto.RegisterResponse;
 import br.com.dv.qrcodeapi.dto.RegisterRequest;
 import br.com.dv.qrcodeapi.entity.AppUser;
+import br.com.dv.qrcodeapi.event.AppUserChangedEvent;
 import br.com.dv.qrcodeapi.exception.EmailAlreadyExistsException;
 import br.com.dv.qrcodeapi.repository.AppUserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,10 +12,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,11 +33,29 @@ class AppUserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private AppUserService appUserService;
 
+    private boolean inTransaction;
+
     @BeforeEach
     void setUp() {
-        appUserService = new AppUserServiceImpl(appUserRepository, passwordEncoder);
+        TransactionOperations transactionOperations = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                inTransaction = true;
+                try {
+                    return action.doInTransaction(mock(TransactionStatus.class));
+                } finally {
+                    inTransaction = false;
+                }
+            }
+        };
+        appUserService = new AppUserServiceImpl(
+                appUserRepository, passwordEncoder, eventPublisher, transactionOperations
+        );
     }
 
     @Test
@@ -51,6 +76,7 @@ class AppUserServiceTest {
         assertEquals("User registered successfully", response.message());
         verify(appUserRepository).save(any(AppUser.class));
         verify(passwordEncoder).encode(request.password());
+        verify(eventPublisher).publishEvent(new AppUserChangedEvent(request.email()));
     }
 
     @Test
@@ -66,6 +92,28 @@ class AppUserServiceTest {
         assertThrows(EmailAlreadyExistsException.class, () -> appUserService.register(request));
         verify(appUserRepository, never()).save(any());
         verify(passwordEncoder, never()).encode(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should hash the password before opening the transaction that saves the user")
+    void shouldHashPasswordOutsideTransaction() {
+        RegisterRequest request = new RegisterRequest(
+                "test@example.com", "password123", "Test User"
+        );
+
+        when(passwordEncoder.encode(request.password())).thenAnswer(invocation -> {
+            assertFalse(inTransaction);
+            return "encodedPassword123";
+        });
+        when(appUserRepository.save(any(AppUser.class))).thenAnswer(invocation -> {
+            assertTrue(inTransaction);
+            return invocation.getArgument(0);
+        });
+
+        appUserService.register(request);
+
+        verify(appUserRepository).save(any(AppUser.class));
     }
 
 }
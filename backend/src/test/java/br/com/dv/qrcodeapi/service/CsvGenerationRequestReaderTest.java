@@ -0,0 +1,83 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.exception.InvalidCsvHeaderException;
+import br.com.dv.qrcodeapi.exception.InvalidCsvValueException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvGenerationRequestReaderTest {
+
+    @Test
+    @DisplayName("Should map each row to a generation request, applying defaults for empty overrides")
+    void shouldMapRowsToRequests() throws IOException {
+        String csv = """
+                content,size,fcolor,margin
+                https://example.com,300,RED,
+                "Hello, ""World""",,,10
+                """;
+
+        try (var reader = new CsvGenerationRequestReader(new StringReader(csv))) {
+            assertTrue(reader.hasNext());
+            GenerationRequest first = reader.next();
+            assertEquals("https://example.com", first.content());
+            assertEquals(300, first.size());
+            assertEquals("RED", first.fcolor());
+            assertEquals(GenerationRequest.DEFAULT_MARGIN, first.margin());
+            assertEquals(GenerationRequest.DEFAULT_FORMAT, first.format());
+
+            GenerationRequest second = reader.next();
+            assertEquals("Hello, \\"World\\"", second.content());
+            assertEquals(GenerationRequest.DEFAULT_SIZE, second.size());
+            assertEquals(10, second.margin());
+
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep reading after a row with an unparseable number")
+    void shouldContinueAfterInvalidNumber() throws IOException {
+        String csv = "content,size\na,big\nb,150\n";
+
+        try (var reader = new CsvGenerationRequestReader(new StringReader(csv))) {
+            var exception = assertThrows(InvalidCsvValueException.class, reader::next);
+            assertEquals("Invalid value 'big' for column 'size' on line 2", exception.getMessage());
+            assertEquals("b", reader.next().content());
+        }
+    }
+
+    @Test
+    @DisplayName("Should recognise the first column when the file starts with a UTF-8 byte order mark")
+    void shouldIgnoreByteOrderMark() throws IOException {
+        String csv = "\uFEFFcontent,size\na,150\n";
+
+        try (var reader = new CsvGenerationRequestReader(new StringReader(csv))) {
+            GenerationRequest request = reader.next();
+            assertEquals("a", request.content());
+            assertEquals(150, request.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a record with more fields than the reader accepts")
+    void shouldRejectRecordWithTooManyFields() {
+        String csv = "content" + ",".repeat(1_000) + "\na\n";
+
+        var exception = assertThrows(IOException.class, () -> new CsvGenerationRequestReader(new StringReader(csv)));
+        assertEquals("CSV record on line 1 exceeds 256 fields", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV whose header has no content column")
+    void shouldRejectHeaderWithoutContent() {
+        assertThrows(InvalidCsvHeaderException.class,
+                () -> new CsvGenerationRequestReader(new StringReader("size,margin\n150,4\n")));
+    }
+
+}
@@ -0,0 +1,202 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.cache.SavedQRCodeImageProperties;
+import br.com.dv.qrcodeapi.concurrent.RenderDeadline;
+import br.com.dv.qrcodeapi.concurrent.RenderDeadlineProperties;
+import br.com.dv.qrcodeapi.concurrent.RenderExecutors;
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import br.com.dv.qrcodeapi.enums.RenderLane;
+import br.com.dv.qrcodeapi.metrics.QRCodeGenerationMetrics;
+import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QRCodeBatchServiceTest {
+
+    @Mock
+    private QRCodeGenerationService qrCodeGenerationService;
+
+    private RenderExecutors renderExecutors;
+
+    private QRCodeBatchService qrCodeBatchService;
+
+    @BeforeEach
+    void setUp() {
+        var batchProperties = new QRCodeBatchProperties(2, 2);
+        renderExecutors = new RenderExecutors(
+                batchProperties,
+                new SavedQRCodeImageProperties(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1), 1)
+        );
+        var qrCodeParameterValidator = new QRCodeParameterValidator(new QRCodeGenerationMetrics(new SimpleMeterRegistry()));
+        qrCodeBatchService = new QRCodeBatchServiceImpl(
+                qrCodeGenerationService,
+                qrCodeParameterValidator,
+                renderExecutors,
+                batchProperties,
+                new RenderDeadlineProperties("X-Render-Timeout-Ms", Duration.ofSeconds(10), Duration.ofSeconds(30),
+                        Duration.ofMinutes(30))
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderExecutors.destroy();
+    }
+
+    private Map<String, String> readZip(byte[] zip) throws IOException {
+        Map<String, String> entries = new TreeMap<>();
+        try (var zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    @DisplayName("Should write one ZIP entry per request, named after its position in the batch")
+    void shouldWriteOneEntryPerRequest() throws IOException {
+        when(qrCodeGenerationService.generateQRCode(any(), eq(RenderLane.BULK), any())).thenAnswer(invocation -> new ImageResponse(
+                invocation.<GenerationSpec>getArgument(0).content().getBytes(StandardCharsets.UTF_8),
+                MediaType.IMAGE_PNG
+        ));
+
+        List<GenerationRequest> requests = IntStream.range(0, 25)
+                .mapToObj(i -> new GenerationRequest("item-" + i, null, null, null, null, null, null))
+                .toList();
+        var outputStream = new ByteArrayOutputStream();
+
+        qrCodeBatchService.writeZip(requests.iterator(), outputStream, RenderDeadline.none());
+
+        Map<String, String> entries = readZip(outputStream.toByteArray());
+        assertEquals(25, entries.size());
+        assertEquals("item-0", entries.get("qrcode-000000.png"));
+        assertEquals("item-24", entries.get("qrcode-000024.png"));
+    }
+
+    @Test
+    @DisplayName("Should collect failed requests into an errors entry instead of aborting the batch")
+    void shouldReportFailedRequests() throws IOException {
+        when(qrCodeGenerationService.generateQRCode(
+                argThat(spec -> spec.content().equals("ok")),
+                eq(RenderLane.BULK),
+                any()
+        )).thenReturn(new ImageResponse(new byte[]{1}, MediaType.IMAGE_PNG));
+
+        List<GenerationRequest> requests = List.of(
+                new GenerationRequest("ok", null, null, null, null, null, null),
+                new GenerationRequest("", null, null, null, null, null, null)
+        );
+        var outputStream = new ByteArrayOutputStream();
+
+        qrCodeBatchService.writeZip(requests.iterator(), outputStream, RenderDeadline.none());
+
+        Map<String, String> entries = readZip(outputStream.toByteArray());
+        assertTrue(entries.containsKey("qrcode-000000.png"));
+        assertFalse(entries.containsKey("qrcode-000001.png"));
+        assertTrue(entries.get("errors.txt").startsWith("1: Contents cannot be null or blank"));
+    }
+
+    @Test
+    @DisplayName("Should finish the archive and report skipped items once the batch deadline has passed")
+    void shouldStopWhenDeadlineHasPassed() throws IOException {
+        List<GenerationRequest> requests = List.of(new GenerationRequest("item", null, null, null, null, null, null));
+        var outputStream = new ByteArrayOutputStream();
+
+        qrCodeBatchService.writeZip(requests.iterator(), outputStream, RenderDeadline.after(Duration.ZERO));
+
+        Map<String, String> entries = readZip(outputStream.toByteArray());
+        assertEquals(1, entries.size());
+        assertTrue(entries.get("errors.txt").startsWith("0: Batch deadline exceeded"));
+        verifyNoInteractions(qrCodeGenerationService);
+    }
+
+    @Test
+    @DisplayName("Should finish the archive and report the failure when the request stream breaks mid-batch")
+    void shouldStopWhenRequestStreamBreaks() throws IOException {
+        when(qrCodeGenerationService.generateQRCode(any(), eq(RenderLane.BULK), any()))
+                .thenReturn(new ImageResponse(new byte[]{1}, MediaType.IMAGE_PNG));
+        var requests = new Iterator<GenerationRequest>() {
+            private boolean consumed;
+
+            @Override
+            public boolean hasNext() {
+                if (consumed) {
+                    throw new RuntimeJsonMappingException("Unexpected end-of-input");
+                }
+                return true;
+            }
+
+            @Override
+            public GenerationRequest next() {
+                consumed = true;
+                return new GenerationRequest("item", null, null, null, null, null, null);
+            }
+        };
+        var outputStream = new ByteArrayOutputStream();
+
+        qrCodeBatchService.writeZip(requests, outputStream, RenderDeadline.none());
+
+        Map<String, String> entries = readZip(outputStream.toByteArray());
+        assertEquals(2, entries.size());
+        assertTrue(entries.containsKey("qrcode-000000.png"));
+        assertTrue(entries.get("errors.txt").startsWith("1: Unexpected end-of-input"));
+    }
+
+    @Test
+    @DisplayName("Should cancel in-flight renders when the client stops reading the archive")
+    void shouldCancelInFlightRendersOnClientDisconnect() {
+        when(qrCodeGenerationService.generateQRCode(any(), eq(RenderLane.BULK), any()))
+                .thenReturn(new ImageResponse(new byte[]{1}, MediaType.IMAGE_PNG));
+        List<GenerationRequest> requests = IntStream.range(0, 25)
+                .mapToObj(i -> new GenerationRequest("item-" + i, null, null, null, null, null, null))
+                .toList();
+        var disconnectedClient = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        RenderDeadline deadline = RenderDeadline.none();
+
+        assertThrows(IOException.class, () -> qrCodeBatchService.writeZip(
+                requests.iterator(),
+                disconnectedClient,
+                deadline
+        ));
+        assertTrue(deadline.isExpired());
+    }
+
+}
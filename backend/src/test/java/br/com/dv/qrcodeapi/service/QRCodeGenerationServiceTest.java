@@ -1,48 +1,99 @@
 package br.com.dv.qrcodeapi.service;
 
-import br.com.dv.qrcodeapi.exception.InvalidColorException;
-import br.com.dv.qrcodeapi.exception.InvalidCorrectionLevelException;
-import br.com.dv.qrcodeapi.exception.InvalidMarginException;
+import br.com.dv.qrcodeapi.cache.QRCodeImageCache;
+import br.com.dv.qrcodeapi.cache.QRCodeImageCacheProperties;
+import br.com.dv.qrcodeapi.cache.QRCodeImageDiskStore;
+import br.com.dv.qrcodeapi.cache.QRCodeImageDiskStoreProperties;
+import br.com.dv.qrcodeapi.cache.QRCodeImageSlabCache;
+import br.com.dv.qrcodeapi.cache.QRCodeImageSlabProperties;
+import br.com.dv.qrcodeapi.concurrent.RenderBulkhead;
+import br.com.dv.qrcodeapi.concurrent.RenderBulkheadProperties;
+import br.com.dv.qrcodeapi.concurrent.RenderCoalescer;
+import br.com.dv.qrcodeapi.concurrent.RenderCoalescerProperties;
+import br.com.dv.qrcodeapi.concurrent.RenderDeadline;
+import br.com.dv.qrcodeapi.dto.GenerationSpec;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
+import br.com.dv.qrcodeapi.dto.ImageStreamResponse;
+import br.com.dv.qrcodeapi.enums.MaskSelection;
+import br.com.dv.qrcodeapi.enums.RenderLane;
+import br.com.dv.qrcodeapi.exception.RenderDeadlineExceededException;
+import br.com.dv.qrcodeapi.metrics.QRCodeGenerationMetrics;
 import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
 
-@ExtendWith(MockitoExtension.class)
 class QRCodeGenerationServiceTest {
 
-    @Mock
+    private SimpleMeterRegistry meterRegistry;
     private QRCodeParameterValidator qrCodeParameterValidator;
-
+    private QRCodeImageSlabCache slabCache;
+    private RenderCoalescer renderCoalescer;
+    private RenderBulkhead renderBulkhead;
     private QRCodeGenerationService qrCodeGenerationService;
 
     @BeforeEach
     void setUp() {
-        qrCodeGenerationService = new QRCodeGenerationServiceImpl(qrCodeParameterValidator);
+        meterRegistry = new SimpleMeterRegistry();
+        qrCodeParameterValidator = new QRCodeParameterValidator(new QRCodeGenerationMetrics(meterRegistry));
+        slabCache = new QRCodeImageSlabCache(
+                new QRCodeImageSlabProperties(false, DataSize.ofMegabytes(1), DataSize.ofKilobytes(4)),
+                meterRegistry
+        );
+        renderCoalescer = new RenderCoalescer(new RenderCoalescerProperties(Duration.ofSeconds(5)), meterRegistry);
+        renderBulkhead = new RenderBulkhead(
+                new RenderBulkheadProperties(
+                        2,
+                        2,
+                        Duration.ofSeconds(1),
+                        DataSize.ofMegabytes(4),
+                        Duration.ofSeconds(1),
+                        50,
+                        Duration.ofSeconds(1)
+                ),
+                meterRegistry
+        );
+        var cacheProperties = new QRCodeImageCacheProperties(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        var qrCodeImageCache = new QRCodeImageCache(cacheProperties, slabCache, meterRegistry);
+        var diskStore = new QRCodeImageDiskStore(diskStoreProperties(false, "unused"), meterRegistry);
+        qrCodeGenerationService = new QRCodeGenerationServiceImpl(
+                qrCodeImageCache,
+                slabCache,
+                diskStore,
+                renderCoalescer,
+                renderBulkhead,
+                new QRCodeGenerationMetrics(meterRegistry),
+                new QRCodeEncoderProperties(MaskSelection.STANDARD)
+        );
     }
 
     @Test
     @DisplayName("Should successfully generate QR code image when all parameters are valid")
     void shouldGenerateQRCodeWithValidParameters() {
-        doNothing().when(qrCodeParameterValidator).validate(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 "content", 250, "L", "png",
                 "#000000", "#FFFFFF", 4
-        );
-
-        var qrCode = qrCodeGenerationService.generateQRCode(
-                "content", 250, "L", "png",
-                "#000000", "#FFFFFF", 4
-        );
+        ));
 
         assertNotNull(qrCode);
         assertNotNull(qrCode.imageData());
@@ -60,75 +111,23 @@ class QRCodeGenerationServiceTest {
     @DisplayName("Should generate QR code with correct media type for different format combinations")
     void shouldGenerateQRCodeWithCorrectMediaType(
             String correction, String format, String fcolor, String bcolor, int margin, String expectedMediaType) {
-        doNothing().when(qrCodeParameterValidator).validate(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 "content", 250, correction, format,
                 fcolor, bcolor, margin
-        );
-
-        var qrCode = qrCodeGenerationService.generateQRCode(
-                "content", 250, correction, format,
-                fcolor, bcolor, margin
-        );
+        ));
 
         assertNotNull(qrCode);
         assertTrue(qrCode.imageData().length > 0);
         assertEquals(MediaType.parseMediaType(expectedMediaType), qrCode.mediaType());
     }
 
-    @Test
-    @DisplayName("Should throw InvalidCorrectionLevelException when correction level is not valid")
-    void shouldThrowExceptionForInvalidCorrectionLevel() {
-        doNothing().when(qrCodeParameterValidator).validate(
-                "content", 250, "invalid", "png",
-                "#000000", "#FFFFFF", 4
-        );
-
-        assertThrows(InvalidCorrectionLevelException.class, () -> qrCodeGenerationService.generateQRCode(
-                "content", 250, "invalid", "png",
-                "#000000", "#FFFFFF", 4)
-        );
-    }
-
-    @Test
-    @DisplayName("Should throw InvalidColorException when color format is not valid")
-    void shouldThrowExceptionForInvalidColor() {
-        doNothing().when(qrCodeParameterValidator).validate(
-                "content", 250, "L", "png",
-                "INVALID", "#FFFFFF", 4
-        );
-
-        assertThrows(InvalidColorException.class, () -> qrCodeGenerationService.generateQRCode(
-                "content", 250, "L", "png",
-                "INVALID", "#FFFFFF", 4)
-        );
-    }
-
-    @Test
-    @DisplayName("Should throw InvalidMarginException when margin value is out of allowed range")
-    void shouldThrowExceptionForInvalidMargin() {
-        doThrow(new InvalidMarginException()).when(qrCodeParameterValidator).validate(
-                "content", 250, "L", "png",
-                "#000000", "#FFFFFF", 999
-        );
-
-        assertThrows(InvalidMarginException.class, () -> qrCodeGenerationService.generateQRCode(
-                "content", 250, "L", "png",
-                "#000000", "#FFFFFF", 999)
-        );
-    }
-
     @Test
     @DisplayName("Should successfully generate QR code with minimum allowed size")
     void shouldGenerateQRCodeWithMinimumSize() {
-        doNothing().when(qrCodeParameterValidator).validate(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 "content", 150, "L", "png",
                 "#000000", "#FFFFFF", 4
-        );
-
-        var qrCode = qrCodeGenerationService.generateQRCode(
-                "content", 150, "L", "png",
-                "#000000", "#FFFFFF", 4
-        );
+        ));
 
         assertNotNull(qrCode);
         assertNotNull(qrCode.imageData());
@@ -138,15 +137,10 @@ class QRCodeGenerationServiceTest {
     @Test
     @DisplayName("Should successfully generate QR code with maximum allowed size")
     void shouldGenerateQRCodeWithMaximumSize() {
-        doNothing().when(qrCodeParameterValidator).validate(
-                "content", 350, "L", "png",
-                "#000000", "#FFFFFF", 4
-        );
-
-        var qrCode = qrCodeGenerationService.generateQRCode(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 "content", 350, "L", "png",
                 "#000000", "#FFFFFF", 4
-        );
+        ));
 
         assertNotNull(qrCode);
         assertNotNull(qrCode.imageData());
@@ -156,15 +150,10 @@ class QRCodeGenerationServiceTest {
     @Test
     @DisplayName("Should successfully generate QR code with named colors")
     void shouldGenerateQRCodeWithNamedColors() {
-        doNothing().when(qrCodeParameterValidator).validate(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 "content", 250, "L", "png",
                 "BLACK", "WHITE", 4
-        );
-
-        var qrCode = qrCodeGenerationService.generateQRCode(
-                "content", 250, "L", "png",
-                "BLACK", "WHITE", 4
-        );
+        ));
 
         assertNotNull(qrCode);
         assertNotNull(qrCode.imageData());
@@ -174,15 +163,10 @@ class QRCodeGenerationServiceTest {
     @Test
     @DisplayName("Should successfully generate QR code with hex color codes")
     void shouldGenerateQRCodeWithHexColors() {
-        doNothing().when(qrCodeParameterValidator).validate(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 "content", 250, "L", "png",
                 "#FF0000", "#00FF00", 4
-        );
-
-        var qrCode = qrCodeGenerationService.generateQRCode(
-                "content", 250, "L", "png",
-                "#FF0000", "#00FF00", 4
-        );
+        ));
 
         assertNotNull(qrCode);
         assertNotNull(qrCode.imageData());
@@ -192,15 +176,10 @@ class QRCodeGenerationServiceTest {
     @Test
     @DisplayName("Should successfully generate QR code with minimum margin value")
     void shouldGenerateQRCodeWithMinimumMargin() {
-        doNothing().when(qrCodeParameterValidator).validate(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 "content", 250, "L", "png",
                 "#000000", "#FFFFFF", 0
-        );
-
-        var qrCode = qrCodeGenerationService.generateQRCode(
-                "content", 250, "L", "png",
-                "#000000", "#FFFFFF", 0
-        );
+        ));
 
         assertNotNull(qrCode);
         assertNotNull(qrCode.imageData());
@@ -210,15 +189,10 @@ class QRCodeGenerationServiceTest {
     @Test
     @DisplayName("Should successfully generate QR code with maximum margin value")
     void shouldGenerateQRCodeWithMaximumMargin() {
-        doNothing().when(qrCodeParameterValidator).validate(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 "content", 250, "L", "png",
                 "#000000", "#FFFFFF", 50
-        );
-
-        var qrCode = qrCodeGenerationService.generateQRCode(
-                "content", 250, "L", "png",
-                "#000000", "#FFFFFF", 50
-        );
+        ));
 
         assertNotNull(qrCode);
         assertNotNull(qrCode.imageData());
@@ -229,15 +203,10 @@ class QRCodeGenerationServiceTest {
     @DisplayName("Should successfully generate QR code when content exceeds typical length")
     void shouldGenerateQRCodeWithLongContent() {
         String longContent = "a".repeat(1000);
-        doNothing().when(qrCodeParameterValidator).validate(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 longContent, 250, "L", "png",
                 "#000000", "#FFFFFF", 4
-        );
-
-        var qrCode = qrCodeGenerationService.generateQRCode(
-                longContent, 250, "L", "png",
-                "#000000", "#FFFFFF", 4
-        );
+        ));
 
         assertNotNull(qrCode);
         assertNotNull(qrCode.imageData());
@@ -248,19 +217,362 @@ class QRCodeGenerationServiceTest {
     @DisplayName("Should successfully generate QR code when content contains special characters")
     void shouldGenerateQRCodeWithSpecialCharacters() {
         String specialContent = "Hello! こんにちは! ❤️ #@$%";
-        doNothing().when(qrCodeParameterValidator).validate(
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
                 specialContent, 250, "L", "png",
                 "#000000", "#FFFFFF", 4
+        ));
+
+        assertNotNull(qrCode);
+        assertNotNull(qrCode.imageData());
+        assertTrue(qrCode.imageData().length > 0);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the cache without rendering again")
+    void shouldServeRepeatedRequestsFromCache() {
+        var first = qrCodeGenerationService.generateQRCode(spec(
+                "content", 250, "L", "png",
+                "#000000", "#FFFFFF", 4
+        ));
+        var second = qrCodeGenerationService.generateQRCode(spec(
+                "content", 250, "l", "PNG",
+                "black", "white", 4
+        ));
+
+        assertSame(first, second);
+        assertEquals(1, renderCount());
+    }
+
+    @Test
+    @DisplayName("Should send fresh renders with their length and cache them for later requests")
+    void shouldStreamImageAndCacheResult() throws IOException {
+        var streamed = qrCodeGenerationService.streamQRCode(spec(
+                "content", 250, "L", "png",
+                "#000000", "#FFFFFF", 4
+        ));
+        var outputStream = new ByteArrayOutputStream();
+        streamed.body().writeTo(outputStream);
+
+        var cached = qrCodeGenerationService.streamQRCode(spec(
+                "content", 250, "L", "png",
+                "#000000", "#FFFFFF", 4
+        ));
+
+        assertEquals(MediaType.IMAGE_PNG, streamed.mediaType());
+        assertEquals(outputStream.size(), streamed.contentLength());
+        assertEquals(outputStream.size(), cached.contentLength());
+        assertEquals(1, renderCount());
+    }
+
+    @Test
+    @DisplayName("Should share the leader's render with concurrent requests for the same image")
+    void shouldShareInFlightRender() throws Exception {
+        var key = spec("content", 250, "L", "png", "#000000", "#FFFFFF", 4);
+        var leaderImage = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+        RenderCoalescer.Lease leader = renderCoalescer.acquire(key);
+
+        var follower = new CompletableFuture<ImageResponse>();
+        var followerThread = new Thread(() -> follower.complete(qrCodeGenerationService.generateQRCode(spec(
+                "content", 250, "l", "PNG",
+                "black", "white", 4
+        ))));
+        followerThread.start();
+        while (followerThread.getState() != Thread.State.TIMED_WAITING && !follower.isDone()) {
+            Thread.onSpinWait();
+        }
+        leader.complete(leaderImage);
+
+        assertSame(leaderImage, follower.get());
+        assertEquals(1, meterRegistry.get("qrcode.coalescing.renders.avoided").counter().count());
+        assertEquals(0, renderCount());
+    }
+
+    @Test
+    @DisplayName("Should render independently when the leader fails")
+    void shouldRenderWhenLeaderFails() throws Exception {
+        var key = spec("content", 250, "L", "png", "#000000", "#FFFFFF", 4);
+        RenderCoalescer.Lease leader = renderCoalescer.acquire(key);
+
+        var follower = new CompletableFuture<ImageStreamResponse>();
+        var followerThread = new Thread(() -> follower.complete(qrCodeGenerationService.streamQRCode(spec(
+                "content", 250, "L", "png",
+                "#000000", "#FFFFFF", 4
+        ))));
+        followerThread.start();
+        while (followerThread.getState() != Thread.State.TIMED_WAITING && !follower.isDone()) {
+            Thread.onSpinWait();
+        }
+        leader.fail(new IllegalStateException("leader failed"));
+
+        var outputStream = new ByteArrayOutputStream();
+        follower.get().body().writeTo(outputStream);
+
+        assertTrue(outputStream.size() > 0);
+        assertEquals(1, meterRegistry.get("qrcode.coalescing.fallbacks").tag("reason", "failed").counter().count());
+        assertEquals(1, renderCount());
+    }
+
+    @Test
+    @DisplayName("Should serve images from the off-heap tier when they are no longer on the heap")
+    void shouldServeImageFromSlabCache() throws IOException {
+        var enabledSlabCache = new QRCodeImageSlabCache(
+                new QRCodeImageSlabProperties(true, DataSize.ofMegabytes(1), DataSize.ofKilobytes(1)),
+                meterRegistry
+        );
+        var cacheProperties = new QRCodeImageCacheProperties(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        var service = new QRCodeGenerationServiceImpl(
+                new QRCodeImageCache(cacheProperties, enabledSlabCache, meterRegistry),
+                enabledSlabCache,
+                new QRCodeImageDiskStore(diskStoreProperties(false, "unused"), meterRegistry),
+                renderCoalescer,
+                renderBulkhead,
+                new QRCodeGenerationMetrics(meterRegistry),
+                new QRCodeEncoderProperties(MaskSelection.STANDARD)
         );
+        var image = new ImageResponse(new byte[2500], MediaType.valueOf("image/svg+xml"));
+        enabledSlabCache.put(spec("content", 250, "L", "svg", "#000000", "#FFFFFF", 4), image);
+
+        var buffered = service.generateQRCode(spec("content", 250, "l", "SVG", "#000000", "#FFFFFF", 4));
+        var streamed = service.streamQRCode(spec("content", 250, "L", "svg", "#000000", "#FFFFFF", 4));
+        var outputStream = new ByteArrayOutputStream();
+        streamed.body().writeTo(outputStream);
+        service.streamQRCode(spec("content", 250, "L", "svg", "#000000", "#FFFFFF", 4)).close();
+        enabledSlabCache.put(spec("other", 250, "L", "svg", "#000000", "#FFFFFF", 4),
+                new ImageResponse(new byte[1022 * 1024], MediaType.valueOf("image/svg+xml")));
+
+        assertEquals(0, meterRegistry.get("qrcode.slab.rejections").counter().count());
+        assertEquals(image, buffered);
+        assertEquals(image.imageData().length, streamed.contentLength());
+        assertArrayEquals(image.imageData(), outputStream.toByteArray());
+        assertEquals(0, renderCount());
+    }
 
-        var qrCode = qrCodeGenerationService.generateQRCode(
-                specialContent, 250, "L", "png",
+    @Test
+    @DisplayName("Should serve images persisted on disk after the in-memory cache is gone")
+    void shouldServeImageFromDiskStore(@TempDir Path directory) throws IOException {
+        var diskStoreProperties = diskStoreProperties(true, directory.toString());
+        var cacheProperties = new QRCodeImageCacheProperties(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        var firstService = new QRCodeGenerationServiceImpl(
+                new QRCodeImageCache(cacheProperties, slabCache, meterRegistry),
+                slabCache,
+                new QRCodeImageDiskStore(diskStoreProperties, meterRegistry),
+                renderCoalescer,
+                renderBulkhead,
+                new QRCodeGenerationMetrics(meterRegistry),
+                new QRCodeEncoderProperties(MaskSelection.STANDARD)
+        );
+        var restartedService = new QRCodeGenerationServiceImpl(
+                new QRCodeImageCache(cacheProperties, slabCache, meterRegistry),
+                slabCache,
+                new QRCodeImageDiskStore(diskStoreProperties, meterRegistry),
+                renderCoalescer,
+                renderBulkhead,
+                new QRCodeGenerationMetrics(meterRegistry),
+                new QRCodeEncoderProperties(MaskSelection.STANDARD)
+        );
+
+        var rendered = firstService.generateQRCode(spec("content", 250, "L", "svg", "#000000", "#FFFFFF", 4));
+        var stored = restartedService.streamQRCode(spec("content", 250, "L", "svg", "#000000", "#FFFFFF", 4));
+
+        var outputStream = new ByteArrayOutputStream();
+        try (stored) {
+            stored.body().writeTo(outputStream);
+        }
+
+        assertTrue(stored.isFileBacked());
+        assertEquals(rendered.mediaType(), stored.mediaType());
+        assertEquals(rendered.imageData().length, stored.contentLength());
+        assertArrayEquals(rendered.imageData(), Files.readAllBytes(stored.file()));
+        assertArrayEquals(rendered.imageData(), outputStream.toByteArray());
+        assertEquals(1, renderCount());
+    }
+
+    @Test
+    @DisplayName("Should render instead of failing when a stored image is removed right after lookup")
+    void shouldRenderWhenStoredImageDisappears(@TempDir Path directory) throws IOException {
+        var diskStore = spy(new QRCodeImageDiskStore(diskStoreProperties(true, directory.toString()), meterRegistry));
+        doAnswer(invocation -> {
+            var image = (QRCodeImageDiskStore.StoredImage) invocation.callRealMethod();
+            if (image != null) {
+                Files.delete(image.path());
+            }
+            return image;
+        }).when(diskStore).find(any());
+        var service = new QRCodeGenerationServiceImpl(
+                new QRCodeImageCache(
+                        new QRCodeImageCacheProperties(DataSize.ofMegabytes(1), Duration.ofMinutes(1)),
+                        slabCache,
+                        meterRegistry
+                ),
+                slabCache,
+                diskStore,
+                renderCoalescer,
+                renderBulkhead,
+                new QRCodeGenerationMetrics(meterRegistry),
+                new QRCodeEncoderProperties(MaskSelection.STANDARD)
+        );
+        diskStore.store(spec("content", 250, "L", "svg", "#000000", "#FFFFFF", 4), new byte[]{1, 2, 3});
+
+        var streamed = service.streamQRCode(spec("content", 250, "L", "svg", "#000000", "#FFFFFF", 4));
+
+        assertFalse(streamed.isFileBacked());
+        assertEquals(1, renderCount());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "png,0",
+            "svg,0",
+            "jpeg,1",
+            "gif,1"
+    })
+    @DisplayName("Should time each generation stage and record the output size")
+    void shouldRecordStageTimersAndOutputSize(String format, long expectedRasterizations) {
+        var qrCode = qrCodeGenerationService.generateQRCode(spec(
+                "content", 320, "q", format,
                 "#000000", "#FFFFFF", 4
+        ));
+
+        for (String stage : new String[]{"validate", "encode", "serialize"}) {
+            var timer = meterRegistry.get("qrcode.generation.stage")
+                    .tags("stage", stage, "format", format, "size", "large", "correction", "Q")
+                    .timer();
+            assertEquals(1, timer.count(), stage);
+        }
+        assertEquals(expectedRasterizations, meterRegistry.find("qrcode.generation.stage")
+                .tag("stage", "rasterize")
+                .timers()
+                .stream()
+                .mapToLong(timer -> timer.count())
+                .sum());
+
+        var outputSize = meterRegistry.get("qrcode.generation.output.size").tag("format", format).summary();
+        assertEquals(1, outputSize.count());
+        assertEquals(qrCode.imageData().length, outputSize.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should hold a render permit only while an image is being rendered")
+    void shouldReleaseRenderPermitAfterRendering() {
+        qrCodeGenerationService.generateQRCode(spec("buffered", 250, "L", "png", "#000000", "#FFFFFF", 4));
+        qrCodeGenerationService.streamQRCode(spec("streamed", 250, "L", "png", "#000000", "#FFFFFF", 4));
+
+        assertEquals(0, meterRegistry.get("qrcode.bulkhead.active").tag("lane", "interactive").gauge().value());
+        assertEquals(0, meterRegistry.get("qrcode.bulkhead.memory.used").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should release the render permit before writing the image to a slow client")
+    void shouldReleaseRenderPermitBeforeWritingToClient() throws IOException {
+        var streamed = qrCodeGenerationService.streamQRCode(spec("slow", 250, "L", "png", "#000000", "#FFFFFF", 4));
+        var activeWhileWriting = new ArrayList<Double>();
+        var slowClient = new OutputStream() {
+            @Override
+            public void write(int b) {
+                activeWhileWriting.add(
+                        meterRegistry.get("qrcode.bulkhead.active").tag("lane", "interactive").gauge().value()
+                );
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                write(0);
+            }
+        };
+
+        streamed.body().writeTo(slowClient);
+
+        assertFalse(activeWhileWriting.isEmpty());
+        assertTrue(activeWhileWriting.stream().allMatch(active -> active == 0));
+    }
+
+    @Test
+    @DisplayName("Should abandon a render before encoding when its deadline has already passed")
+    void shouldAbortRenderWhenDeadlineHasPassed() {
+        var spec = spec("late", 250, "L", "png", "#000000", "#FFFFFF", 4);
+
+        assertThrows(RenderDeadlineExceededException.class, () -> qrCodeGenerationService.generateQRCode(
+                spec,
+                RenderLane.BULK,
+                RenderDeadline.after(Duration.ZERO)
+        ));
+
+        assertEquals(0, renderCount());
+        assertEquals(1, meterRegistry.get("qrcode.generation.aborted").tag("stage", "encode").counter().count());
+        assertEquals(0, meterRegistry.get("qrcode.bulkhead.active").tag("lane", "bulk").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should not start a streamed render once its request has been cancelled")
+    void shouldStopStreamedRenderWhenCancelled() {
+        RenderDeadline deadline = RenderDeadline.none();
+        deadline.cancel();
+
+        assertThrows(RenderDeadlineExceededException.class, () -> qrCodeGenerationService.streamQRCode(
+                spec("cancelled", 250, "L", "gif", "#000000", "#FFFFFF", 4),
+                deadline
+        ));
+        assertEquals(0, renderCount());
+        assertEquals(1, meterRegistry.get("qrcode.generation.aborted").tag("stage", "encode").counter().count());
+        assertEquals(0, meterRegistry.get("qrcode.bulkhead.active").tag("lane", "interactive").gauge().value());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should render identical images with fast and standard mask selection")
+    @CsvSource({
+            "https://example.com,L,png",
+            "Hello World,H,gif",
+            "0123456789012345678901234567890123456789,Q,svg"
+    })
+    void shouldRenderSameImageWithFastMaskSelection(String content, String correction, String format) {
+        var cacheProperties = new QRCodeImageCacheProperties(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        var uncachedService = new QRCodeGenerationServiceImpl(
+                new QRCodeImageCache(cacheProperties, slabCache, meterRegistry),
+                slabCache,
+                new QRCodeImageDiskStore(diskStoreProperties(false, "unused"), meterRegistry),
+                renderCoalescer,
+                renderBulkhead,
+                new QRCodeGenerationMetrics(meterRegistry),
+                new QRCodeEncoderProperties(MaskSelection.STANDARD)
         );
 
-        assertNotNull(qrCode);
-        assertNotNull(qrCode.imageData());
-        assertTrue(qrCode.imageData().length > 0);
+        var standard = qrCodeGenerationService.generateQRCode(
+                spec(content, 250, correction, format, "#000000", "#FFFFFF", 4)
+        );
+        var fast = uncachedService.generateQRCode(qrCodeParameterValidator.parse(
+                content, 250, correction, format, "#000000", "#FFFFFF", 4, "fast"
+        ));
+
+        assertNotSame(standard, fast);
+        assertArrayEquals(standard.imageData(), fast.imageData());
+        assertEquals(2, renderCount());
+    }
+
+    private GenerationSpec spec(
+            String content,
+            int size,
+            String correction,
+            String format,
+            String fcolor,
+            String bcolor,
+            int margin
+    ) {
+        return qrCodeParameterValidator.parse(content, size, correction, format, fcolor, bcolor, margin);
+    }
+
+    private static QRCodeImageDiskStoreProperties diskStoreProperties(boolean enabled, String directory) {
+        return new QRCodeImageDiskStoreProperties(
+                enabled, directory, DataSize.ofGigabytes(1), Duration.ofDays(30), Duration.ZERO
+        );
+    }
+
+    private long renderCount() {
+        return meterRegistry.find("qrcode.generation.stage")
+                .tag("stage", "encode")
+                .timers()
+                .stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
     }
 
 }
@@ -1,24 +1,37 @@
 package br.com.dv.qrcodeapi.service;
 
+import br.com.dv.qrcodeapi.cache.SavedQRCodeImageProperties;
+import br.com.dv.qrcodeapi.cache.SavedQRCodeImageStore;
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.dto.ImageResponse;
 import br.com.dv.qrcodeapi.dto.QRCodeResponse;
 import br.com.dv.qrcodeapi.dto.SaveQRCodeRequest;
 import br.com.dv.qrcodeapi.entity.AppUser;
 import br.com.dv.qrcodeapi.entity.QRCode;
+import br.com.dv.qrcodeapi.event.QRCodeDeletedEvent;
+import br.com.dv.qrcodeapi.event.QRCodeSavedEvent;
 import br.com.dv.qrcodeapi.exception.QRCodeNotFoundException;
 import br.com.dv.qrcodeapi.mapper.QRCodeMapper;
+import br.com.dv.qrcodeapi.metrics.QRCodeGenerationMetrics;
 import br.com.dv.qrcodeapi.repository.AppUserRepository;
 import br.com.dv.qrcodeapi.repository.QRCodeRepository;
+import br.com.dv.qrcodeapi.security.AuthenticatedUser;
+import br.com.dv.qrcodeapi.validation.QRCodeParameterValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -40,38 +53,51 @@ class QRCodeManagementServiceTest {
     @Mock
     private QRCodeMapper qrCodeMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private QRCodeGenerationService qrCodeGenerationService;
+
     @Mock
     private SecurityContext securityContext;
 
     @Mock
     private Authentication authentication;
 
+    private QRCodeParameterValidator qrCodeParameterValidator;
+
+    private SavedQRCodeImageStore savedImageStore;
+
     private QRCodeManagementService qrCodeManagementService;
 
     private AppUser currentUser;
 
     @BeforeEach
     void setUp() {
+        savedImageStore = new SavedQRCodeImageStore(
+                new SavedQRCodeImageProperties(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1), 64),
+                new SimpleMeterRegistry()
+        );
+        qrCodeParameterValidator = new QRCodeParameterValidator(new QRCodeGenerationMetrics(new SimpleMeterRegistry()));
         qrCodeManagementService = new QRCodeManagementServiceImpl(
                 qrCodeRepository,
                 appUserRepository,
-                qrCodeMapper
+                qrCodeMapper,
+                eventPublisher,
+                qrCodeGenerationService,
+                qrCodeParameterValidator,
+                savedImageStore
         );
         currentUser = new AppUser();
         currentUser.setId(UUID.randomUUID());
         currentUser.setEmail("test@example.com");
 
-        User userDetails = new User(
-                currentUser.getEmail(),
-                "password",
-                List.of()
-        );
+        AuthenticatedUser principal = new AuthenticatedUser(currentUser.getId(), currentUser.getEmail());
 
-        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(authentication.getPrincipal()).thenReturn(principal);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
-        when(appUserRepository.findByEmail(currentUser.getEmail()))
-                .thenReturn(Optional.of(currentUser));
     }
 
     @Test
@@ -81,6 +107,7 @@ class QRCodeManagementServiceTest {
         QRCode qrCode = createValidQRCode();
         QRCodeResponse expectedResponse = createQRCodeResponse(qrCode);
 
+        when(appUserRepository.getReferenceById(currentUser.getId())).thenReturn(currentUser);
         when(qrCodeMapper.toEntity(request)).thenReturn(qrCode);
         when(qrCodeRepository.saveAndFlush(any(QRCode.class))).thenReturn(qrCode);
         when(qrCodeMapper.toResponse(qrCode)).thenReturn(expectedResponse);
@@ -91,6 +118,7 @@ class QRCodeManagementServiceTest {
         assertEquals(expectedResponse.id(), response.id());
         assertEquals(expectedResponse.content(), response.content());
         verify(qrCodeRepository).saveAndFlush(any(QRCode.class));
+        verify(eventPublisher).publishEvent(any(QRCodeSavedEvent.class));
     }
 
     @Test
@@ -140,6 +168,74 @@ class QRCodeManagementServiceTest {
         verify(qrCodeRepository).findByOwnerIdAndId(currentUser.getId(), id);
     }
 
+    @Test
+    @DisplayName("Should serve a pre-rendered image when the stored version matches")
+    void shouldServeStoredImage() {
+        QRCode qrCode = createValidQRCode();
+        ImageResponse stored = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+        savedImageStore.put(qrCode.getId(), qrCode.getUpdatedAt(), stored);
+
+        when(qrCodeRepository.findByOwnerIdAndId(currentUser.getId(), qrCode.getId()))
+                .thenReturn(Optional.of(qrCode));
+
+        ImageResponse image = qrCodeManagementService.getImage(qrCode.getId(), null, null);
+
+        assertEquals(stored, image);
+        verifyNoInteractions(qrCodeGenerationService);
+    }
+
+    @Test
+    @DisplayName("Should render and store the image when no pre-rendered version is available")
+    void shouldRenderAndStoreMissingImage() {
+        QRCode qrCode = createValidQRCode();
+        ImageResponse rendered = new ImageResponse(new byte[]{4, 5, 6}, MediaType.IMAGE_PNG);
+
+        when(qrCodeRepository.findByOwnerIdAndId(currentUser.getId(), qrCode.getId()))
+                .thenReturn(Optional.of(qrCode));
+        when(qrCodeMapper.toGenerationRequest(qrCode)).thenReturn(createGenerationRequest(qrCode));
+        when(qrCodeGenerationService.generateQRCode(qrCodeParameterValidator.parse(
+                "https://example.com", 250, "M", "png", "#000000", "#FFFFFF", 4
+        ))).thenReturn(rendered);
+
+        ImageResponse image = qrCodeManagementService.getImage(qrCode.getId(), 250, "png");
+
+        assertEquals(rendered, image);
+        assertEquals(rendered, savedImageStore.get(qrCode.getId(), qrCode.getUpdatedAt()));
+    }
+
+    @Test
+    @DisplayName("Should render overridden size and format without touching the stored image")
+    void shouldRenderOverrideWithoutStoring() {
+        QRCode qrCode = createValidQRCode();
+        ImageResponse stored = new ImageResponse(new byte[]{1, 2, 3}, MediaType.IMAGE_PNG);
+        ImageResponse rendered = new ImageResponse(new byte[]{7, 8, 9}, MediaType.valueOf("image/svg+xml"));
+        savedImageStore.put(qrCode.getId(), qrCode.getUpdatedAt(), stored);
+
+        when(qrCodeRepository.findByOwnerIdAndId(currentUser.getId(), qrCode.getId()))
+                .thenReturn(Optional.of(qrCode));
+        when(qrCodeMapper.toGenerationRequest(qrCode)).thenReturn(createGenerationRequest(qrCode));
+        when(qrCodeGenerationService.generateQRCode(qrCodeParameterValidator.parse(
+                "https://example.com", 350, "M", "svg", "#000000", "#FFFFFF", 4
+        ))).thenReturn(rendered);
+
+        ImageResponse image = qrCodeManagementService.getImage(qrCode.getId(), 350, "svg");
+
+        assertEquals(rendered, image);
+        assertEquals(stored, savedImageStore.get(qrCode.getId(), qrCode.getUpdatedAt()));
+    }
+
+    @Test
+    @DisplayName("Should throw QRCodeNotFoundException when requesting the image of a non-existent QR code")
+    void shouldThrowExceptionForImageOfNonexistentQRCode() {
+        UUID id = UUID.randomUUID();
+
+        when(qrCodeRepository.findByOwnerIdAndId(currentUser.getId(), id))
+                .thenReturn(Optional.empty());
+
+        assertThrows(QRCodeNotFoundException.class, () -> qrCodeManagementService.getImage(id, null, null));
+        verifyNoInteractions(qrCodeGenerationService);
+    }
+
     @Test
     @DisplayName("Should successfully update QR code when it exists")
     void shouldUpdateExistingQRCode() {
@@ -150,7 +246,7 @@ class QRCodeManagementServiceTest {
 
         when(qrCodeRepository.findByOwnerIdAndId(currentUser.getId(), id))
                 .thenReturn(Optional.of(existingQRCode));
-        when(qrCodeRepository.save(any(QRCode.class))).thenReturn(existingQRCode);
+        when(qrCodeRepository.saveAndFlush(any(QRCode.class))).thenReturn(existingQRCode);
         when(qrCodeMapper.toResponse(existingQRCode)).thenReturn(expectedResponse);
         doNothing().when(qrCodeMapper).update(existingQRCode, updateRequest);
 
@@ -159,8 +255,9 @@ class QRCodeManagementServiceTest {
         assertNotNull(response);
         assertEquals(expectedResponse.id(), response.id());
         verify(qrCodeRepository).findByOwnerIdAndId(currentUser.getId(), id);
-        verify(qrCodeRepository).save(existingQRCode);
+        verify(qrCodeRepository).saveAndFlush(existingQRCode);
         verify(qrCodeMapper).update(existingQRCode, updateRequest);
+        verify(eventPublisher).publishEvent(any(QRCodeSavedEvent.class));
     }
 
     @Test
@@ -175,7 +272,8 @@ class QRCodeManagementServiceTest {
         assertThrows(QRCodeNotFoundException.class,
                 () -> qrCodeManagementService.update(id, updateRequest));
         verify(qrCodeRepository).findByOwnerIdAndId(currentUser.getId(), id);
-        verify(qrCodeRepository, never()).save(any());
+        verify(qrCodeRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -191,6 +289,7 @@ class QRCodeManagementServiceTest {
 
         verify(qrCodeRepository).findByOwnerIdAndId(currentUser.getId(), id);
         verify(qrCodeRepository).save(existingQRCode);
+        verify(eventPublisher).publishEvent(new QRCodeDeletedEvent(id));
         assertTrue(existingQRCode.isDeleted());
         assertNotNull(existingQRCode.getDeletedAt());
     }
@@ -209,16 +308,20 @@ class QRCodeManagementServiceTest {
     }
 
     @Test
-    @DisplayName("Should throw exception when user is not found in the system")
-    void shouldThrowExceptionForNonexistentUser() {
-        when(appUserRepository.findByEmail(currentUser.getEmail()))
-                .thenReturn(Optional.empty());
-
+    @DisplayName("Should take the owner from the authenticated principal without loading the user")
+    void shouldSaveWithOwnerReferenceFromPrincipal() {
         SaveQRCodeRequest request = createValidRequest();
+        QRCode qrCode = new QRCode();
 
-        assertThrows(RuntimeException.class, () -> qrCodeManagementService.save(request));
-        verify(appUserRepository).findByEmail(currentUser.getEmail());
-        verify(qrCodeRepository, never()).save(any());
+        when(appUserRepository.getReferenceById(currentUser.getId())).thenReturn(currentUser);
+        when(qrCodeMapper.toEntity(request)).thenReturn(qrCode);
+        when(qrCodeRepository.saveAndFlush(qrCode)).thenReturn(qrCode);
+
+        qrCodeManagementService.save(request);
+
+        assertSame(currentUser, qrCode.getOwner());
+        verify(appUserRepository).getReferenceById(currentUser.getId());
+        verifyNoMoreInteractions(appUserRepository);
     }
 
     private SaveQRCodeRequest createValidRequest() {
@@ -253,6 +356,18 @@ class QRCodeManagementServiceTest {
         return qrCode;
     }
 
+    private GenerationRequest createGenerationRequest(QRCode qrCode) {
+        return new GenerationRequest(
+                qrCode.getContent(),
+                qrCode.getSize(),
+                qrCode.getErrorCorrection(),
+                qrCode.getFormat(),
+                qrCode.getForegroundColor(),
+                qrCode.getBackgroundColor(),
+                qrCode.getMargin()
+        );
+    }
+
     private QRCodeResponse createQRCodeResponse(QRCode qrCode) {
         return new QRCodeResponse(
                 qrCode.getId(),
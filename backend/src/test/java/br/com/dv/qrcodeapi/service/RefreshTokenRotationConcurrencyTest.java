@@ -0,0 +1,73 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.dto.RotatedRefreshToken;
+import br.com.dv.qrcodeapi.entity.AppUser;
+import br.com.dv.qrcodeapi.exception.InvalidRefreshTokenException;
+import br.com.dv.qrcodeapi.repository.AppUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RefreshTokenRotationConcurrencyTest {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Test
+    @DisplayName("Should let exactly one of several concurrent rotations of the same token succeed")
+    void shouldRotateConcurrentlyPresentedTokenOnce() throws Exception {
+        AppUser user = new AppUser();
+        user.setEmail("rotation-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user.setName("Test User");
+        appUserRepository.save(user);
+        String token = refreshTokenService.issue(user.getId());
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RotatedRefreshToken>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return refreshTokenService.rotate(token);
+                }));
+            }
+            start.countDown();
+
+            List<RotatedRefreshToken> rotated = new ArrayList<>();
+            for (Future<RotatedRefreshToken> result : results) {
+                try {
+                    rotated.add(result.get());
+                } catch (ExecutionException e) {
+                    assertInstanceOf(InvalidRefreshTokenException.class, e.getCause());
+                }
+            }
+
+            assertEquals(1, rotated.size());
+            assertDoesNotThrow(() -> refreshTokenService.rotate(rotated.get(0).refreshToken()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
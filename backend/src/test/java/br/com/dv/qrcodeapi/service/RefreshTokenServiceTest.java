@@ -0,0 +1,158 @@
+package br.com.dv.qrcodeapi.service;
+
+import br.com.dv.qrcodeapi.dto.RotatedRefreshToken;
+import br.com.dv.qrcodeapi.entity.AppUser;
+import br.com.dv.qrcodeapi.entity.RefreshToken;
+import br.com.dv.qrcodeapi.exception.InvalidRefreshTokenException;
+import br.com.dv.qrcodeapi.repository.AppUserRepository;
+import br.com.dv.qrcodeapi.repository.RefreshTokenRepository;
+import br.com.dv.qrcodeapi.security.AuthTokenProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenServiceImpl(
+                refreshTokenRepository,
+                appUserRepository,
+                new AuthTokenProperties(Duration.ofMinutes(15), Duration.ofDays(14), Duration.ofSeconds(10))
+        );
+        user = new AppUser();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+    }
+
+    private RefreshToken storedToken(boolean revoked, LocalDateTime expiresAt) {
+        RefreshToken token = new RefreshToken();
+        token.setOwner(user);
+        token.setRevoked(revoked);
+        token.setExpiresAt(expiresAt);
+        return token;
+    }
+
+    private RefreshToken captureSavedToken() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should persist only the hash of a newly issued refresh token")
+    void shouldStoreHashedToken() {
+        when(appUserRepository.getReferenceById(user.getId())).thenReturn(user);
+
+        String token = refreshTokenService.issue(user.getId());
+
+        RefreshToken saved = captureSavedToken();
+        assertNotEquals(token, saved.getTokenHash());
+        assertEquals(64, saved.getTokenHash().length());
+        assertSame(user, saved.getOwner());
+        assertTrue(saved.getExpiresAt().isAfter(LocalDateTime.now().plusDays(13)));
+        verify(refreshTokenRepository).deleteExpiredByOwnerId(eq(user.getId()), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should revoke the presented token and issue a new one when rotating")
+    void shouldRotateValidToken() {
+        RefreshToken current = storedToken(false, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revokeIfActive(any(), any(LocalDateTime.class))).thenReturn(1);
+
+        RotatedRefreshToken rotated = refreshTokenService.rotate("presented-token");
+
+        assertEquals(user.getId(), rotated.user().id());
+        assertEquals(user.getEmail(), rotated.user().email());
+        assertNotEquals("presented-token", rotated.refreshToken());
+        assertSame(user, captureSavedToken().getOwner());
+        verifyNoInteractions(appUserRepository);
+    }
+
+    @Test
+    @DisplayName("Should look tokens up by the same hash they were stored under")
+    void shouldLookUpByStoredHash() {
+        when(appUserRepository.getReferenceById(user.getId())).thenReturn(user);
+        String token = refreshTokenService.issue(user.getId());
+        String storedHash = captureSavedToken().getTokenHash();
+
+        when(refreshTokenRepository.findByTokenHash(storedHash)).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token));
+        verify(refreshTokenRepository).findByTokenHash(storedHash);
+    }
+
+    @Test
+    @DisplayName("Should revoke every session of the owner when a rotated token is reused")
+    void shouldRevokeAllOnReuse() {
+        when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenReturn(Optional.of(storedToken(true, LocalDateTime.now().plusDays(1))));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("reused-token"));
+        verify(refreshTokenRepository).revokeAllByOwnerId(user.getId());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a token that a concurrent request rotated first without revoking the session")
+    void shouldRejectLostRotationRace() {
+        when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenReturn(Optional.of(storedToken(false, LocalDateTime.now().plusDays(1))));
+        when(refreshTokenRepository.revokeIfActive(any(), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("raced-token"));
+        verify(refreshTokenRepository, never()).revokeAllByOwnerId(any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should not treat reuse within the grace period as token theft")
+    void shouldTolerateReuseWithinGracePeriod() {
+        RefreshToken justRotated = storedToken(true, LocalDateTime.now().plusDays(1));
+        justRotated.setRevokedAt(LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(justRotated));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("reused-token"));
+        verify(refreshTokenRepository, never()).revokeAllByOwnerId(any());
+    }
+
+    @Test
+    @DisplayName("Should reject expired, unknown and missing refresh tokens")
+    void shouldRejectInvalidTokens() {
+        when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenReturn(Optional.of(storedToken(false, LocalDateTime.now().minusSeconds(1))))
+                .thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("expired-token"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("unknown-token"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(null));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+}
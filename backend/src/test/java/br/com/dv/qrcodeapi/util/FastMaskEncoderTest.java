@@ -0,0 +1,63 @@
+package br.com.dv.qrcodeapi.util;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastMaskEncoderTest {
+
+    private static final String URL_SEED = "https://example.com/qrcode?campaign=mask&id=";
+
+    static Stream<Arguments> contents() {
+        Stream<String> urls = IntStream.of(1, 17, 42, 90, 160, 300, 520, 800, 1100)
+                .mapToObj(FastMaskEncoderTest::url);
+        Stream<String> otherModes = Stream.of("0123456789".repeat(30), "HELLO WORLD $%*+-./:".repeat(20), "Olá, ação rápida!");
+
+        return Stream.concat(urls, otherModes)
+                .flatMap(content -> Arrays.stream(ErrorCorrectionLevel.values())
+                        .map(level -> Arguments.of(content, level)));
+    }
+
+    private static String url(int length) {
+        var content = new StringBuilder(length);
+        while (content.length() < length) {
+            content.append(URL_SEED).append(content.length());
+        }
+        return content.substring(0, length);
+    }
+
+    @ParameterizedTest
+    @MethodSource("contents")
+    @DisplayName("Should choose the same mask and produce the same modules as the standard ZXing encoder")
+    void shouldMatchStandardEncoder(String content, ErrorCorrectionLevel level) throws WriterException {
+        ByteMatrix expected = Encoder.encode(content, level).getMatrix();
+        ByteMatrix actual = FastMaskEncoder.encode(content, level);
+
+        assertEquals(expected.getWidth(), actual.getWidth());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            assertArrayEquals(expected.getArray()[y], actual.getArray()[y], "Module mismatch in row " + y);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject content that does not fit in any QR code version, like the standard encoder")
+    void shouldRejectOversizedContent() {
+        String content = url(4000);
+
+        assertThrows(WriterException.class, () -> Encoder.encode(content, ErrorCorrectionLevel.H));
+        assertThrows(WriterException.class, () -> FastMaskEncoder.encode(content, ErrorCorrectionLevel.H));
+    }
+
+}
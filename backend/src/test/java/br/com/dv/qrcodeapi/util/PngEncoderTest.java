@@ -0,0 +1,65 @@
+package br.com.dv.qrcodeapi.util;
+
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PngEncoderTest {
+
+    private static final int FOREGROUND = 0xFF800080;
+    private static final int BACKGROUND = 0xFFFFFF00;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private QRCodeRaster createCheckerboard(int modules, int size, int quietZone) {
+        ByteMatrix matrix = new ByteMatrix(modules, modules);
+        for (int y = 0; y < modules; y++) {
+            for (int x = 0; x < modules; x++) {
+                matrix.set(x, y, (x + y) % 2 == 0);
+            }
+        }
+        return new QRCodeRaster(matrix, size, quietZone);
+    }
+
+    private byte[] encode(QRCodeRaster raster) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        PngEncoder.write(raster, FOREGROUND, BACKGROUND, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Should write a PNG signature followed by a decodable image")
+    void shouldWriteDecodablePng() throws IOException {
+        byte[] png = encode(createCheckerboard(25, 250, 4));
+
+        assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(png, PNG_SIGNATURE.length));
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertNotNull(image);
+        assertEquals(250, image.getWidth());
+        assertEquals(250, image.getHeight());
+    }
+
+    @Test
+    @DisplayName("Should map dark and light modules to foreground and background colors")
+    void shouldPreserveEveryPixel() throws IOException {
+        QRCodeRaster raster = createCheckerboard(29, 157, 3);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(encode(raster)));
+
+        for (int y = 0; y < raster.getHeight(); y++) {
+            for (int x = 0; x < raster.getWidth(); x++) {
+                int expected = raster.get(x, y) ? FOREGROUND : BACKGROUND;
+                assertEquals(expected, image.getRGB(x, y), "Pixel mismatch at " + x + "," + y);
+            }
+        }
+    }
+
+}
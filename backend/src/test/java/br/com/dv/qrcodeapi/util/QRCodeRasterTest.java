@@ -0,0 +1,48 @@
+package br.com.dv.qrcodeapi.util;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.Encoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QRCodeRasterTest {
+
+    @ParameterizedTest
+    @DisplayName("Should scale modules exactly like QRCodeWriter for the same size and margin")
+    @CsvSource({
+            "https://example.com,150,L,0",
+            "https://example.com,250,M,4",
+            "Hello World,350,H,10",
+            "a,203,Q,50"
+    })
+    void shouldMatchQRCodeWriterOutput(String content, int size, String correction, int margin)
+            throws WriterException {
+        ErrorCorrectionLevel level = ErrorCorrectionLevel.valueOf(correction);
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.ERROR_CORRECTION, level);
+        hints.put(EncodeHintType.MARGIN, margin);
+
+        BitMatrix expected = new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, size, size, hints);
+        QRCodeRaster raster = new QRCodeRaster(Encoder.encode(content, level).getMatrix(), size, margin);
+
+        assertEquals(expected.getWidth(), raster.getWidth());
+        assertEquals(expected.getHeight(), raster.getHeight());
+        for (int y = 0; y < raster.getHeight(); y++) {
+            for (int x = 0; x < raster.getWidth(); x++) {
+                assertEquals(expected.get(x, y), raster.get(x, y), "Pixel mismatch at " + x + "," + y);
+            }
+        }
+    }
+
+}
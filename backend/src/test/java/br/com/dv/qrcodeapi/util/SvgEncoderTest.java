@@ -0,0 +1,97 @@
+package br.com.dv.qrcodeapi.util;
+
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SvgEncoderTest {
+
+    private static final int FOREGROUND = 0xFF800080;
+    private static final int BACKGROUND = 0x80FFFF00;
+    private static final Pattern SEGMENT = Pattern.compile("M(\\d+) (\\d+)h(\\d+)v1h-(\\d+)z");
+
+    private ByteMatrix createMatrix(int modules) {
+        ByteMatrix matrix = new ByteMatrix(modules, modules);
+        for (int y = 0; y < modules; y++) {
+            for (int x = 0; x < modules; x++) {
+                matrix.set(x, y, (x / 3 + y) % 3 != 0);
+            }
+        }
+        return matrix;
+    }
+
+    private Document encode(QRCodeRaster raster) throws Exception {
+        var outputStream = new ByteArrayOutputStream();
+        SvgEncoder.write(raster, FOREGROUND, BACKGROUND, outputStream);
+        return DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder()
+                .parse(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("Should write a well-formed SVG sized in pixels with a viewBox in module units")
+    void shouldWriteWellFormedSvg() throws Exception {
+        Document document = encode(new QRCodeRaster(createMatrix(25), 250, 4));
+
+        Element root = document.getDocumentElement();
+        assertEquals("svg", root.getTagName());
+        assertEquals("250", root.getAttribute("width"));
+        assertEquals("250", root.getAttribute("height"));
+        assertEquals("0 0 33 33", root.getAttribute("viewBox"));
+
+        Element background = (Element) root.getElementsByTagName("rect").item(0);
+        assertEquals("#FFFF00", background.getAttribute("fill"));
+        assertEquals("0.502", background.getAttribute("fill-opacity"));
+
+        Element path = (Element) root.getElementsByTagName("path").item(0);
+        assertEquals("#800080", path.getAttribute("fill"));
+        assertFalse(path.hasAttribute("fill-opacity"));
+    }
+
+    @Test
+    @DisplayName("Should cover exactly the dark modules with maximal horizontal runs")
+    void shouldCoverDarkModulesWithRuns() throws Exception {
+        ByteMatrix matrix = createMatrix(29);
+        int quietZone = 3;
+        Document document = encode(new QRCodeRaster(matrix, 150, quietZone));
+        String data = ((Element) document.getElementsByTagName("path").item(0)).getAttribute("d");
+
+        boolean[][] covered = new boolean[matrix.getHeight()][matrix.getWidth()];
+        Matcher matcher = SEGMENT.matcher(data);
+        int end = 0;
+        while (matcher.find()) {
+            assertEquals(end, matcher.start(), "Unexpected path data at " + end);
+            end = matcher.end();
+
+            int x = Integer.parseInt(matcher.group(1)) - quietZone;
+            int y = Integer.parseInt(matcher.group(2)) - quietZone;
+            int run = Integer.parseInt(matcher.group(3));
+            assertEquals(run, Integer.parseInt(matcher.group(4)));
+            assertTrue(x == 0 || matrix.get(x - 1, y) != 1, "Run at " + x + "," + y + " is not maximal");
+            assertTrue(x + run == matrix.getWidth() || matrix.get(x + run, y) != 1,
+                    "Run at " + x + "," + y + " is not maximal");
+
+            for (int i = x; i < x + run; i++) {
+                covered[y][i] = true;
+            }
+        }
+        assertEquals(data.length(), end);
+
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            for (int x = 0; x < matrix.getWidth(); x++) {
+                assertEquals(matrix.get(x, y) == 1, covered[y][x], "Module mismatch at " + x + "," + y);
+            }
+        }
+    }
+
+}
@@ -1,6 +1,12 @@
 package br.com.dv.qrcodeapi.validation;
 
+import br.com.dv.qrcodeapi.dto.GenerationRequest;
+import br.com.dv.qrcodeapi.enums.ImageFormat;
+import br.com.dv.qrcodeapi.enums.MaskSelection;
 import br.com.dv.qrcodeapi.exception.*;
+import br.com.dv.qrcodeapi.metrics.QRCodeGenerationMetrics;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +16,9 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class QRCodeParameterValidatorTest {
@@ -18,13 +27,13 @@ class QRCodeParameterValidatorTest {
 
     @BeforeEach
     void setUp() {
-        qrCodeParameterValidator = new QRCodeParameterValidator();
+        qrCodeParameterValidator = new QRCodeParameterValidator(new QRCodeGenerationMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
     @DisplayName("Should successfully validate QR code parameters when all inputs are valid")
     void shouldValidateWithValidParameters() {
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 "content", 250, "L", "png", "#000000", "#FFFFFF", 4
         ));
     }
@@ -34,7 +43,7 @@ class QRCodeParameterValidatorTest {
     @ValueSource(strings = {" ", "   ", "\t", "\n"})
     @DisplayName("Should throw InvalidContentException when content is null, empty, or blank")
     void shouldThrowExceptionForInvalidContent(String content) {
-        assertThrows(InvalidContentException.class, () -> qrCodeParameterValidator.validate(
+        assertThrows(InvalidContentException.class, () -> qrCodeParameterValidator.parse(
                 content, 250, "L", "png", "#000000", "#FFFFFF", 4
         ));
     }
@@ -43,7 +52,7 @@ class QRCodeParameterValidatorTest {
     @ValueSource(ints = {0, 50, 149, 351, 500})
     @DisplayName("Should throw InvalidImageSizeException when size is outside allowed range")
     void shouldThrowExceptionForInvalidSize(int size) {
-        assertThrows(InvalidImageSizeException.class, () -> qrCodeParameterValidator.validate(
+        assertThrows(InvalidImageSizeException.class, () -> qrCodeParameterValidator.parse(
                 "content", size, "L", "png", "#000000", "#FFFFFF", 4
         ));
     }
@@ -52,7 +61,7 @@ class QRCodeParameterValidatorTest {
     @ValueSource(ints = {150, 200, 250, 300, 350})
     @DisplayName("Should successfully validate QR code parameters when size is within allowed range")
     void shouldValidateWithValidSize(int size) {
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 "content", size, "L", "png", "#000000", "#FFFFFF", 4
         ));
     }
@@ -61,7 +70,7 @@ class QRCodeParameterValidatorTest {
     @ValueSource(strings = {"l", "m", "q", "h", "L", "M", "Q", "H"})
     @DisplayName("Should successfully validate QR code parameters when correction level is valid")
     void shouldValidateWithValidCorrectionLevel(String correction) {
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 "content", 250, correction, "png", "#000000", "#FFFFFF", 4
         ));
     }
@@ -70,25 +79,25 @@ class QRCodeParameterValidatorTest {
     @ValueSource(strings = {"A", "B", "X", "Y", "invalid", "1", "LOW", "MEDIUM"})
     @DisplayName("Should throw InvalidCorrectionLevelException when correction level is not L, M, Q, or H")
     void shouldThrowExceptionForInvalidCorrectionLevel(String correction) {
-        assertThrows(InvalidCorrectionLevelException.class, () -> qrCodeParameterValidator.validate(
+        assertThrows(InvalidCorrectionLevelException.class, () -> qrCodeParameterValidator.parse(
                 "content", 250, correction, "png", "#000000", "#FFFFFF", 4
         ));
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"png", "PNG", "jpeg", "JPEG", "gif", "GIF"})
+    @ValueSource(strings = {"png", "PNG", "jpeg", "JPEG", "gif", "GIF", "svg", "SVG"})
     @DisplayName("Should successfully validate QR code parameters when format is supported")
     void shouldValidateWithValidFormat(String format) {
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 "content", 250, "L", format, "#000000", "#FFFFFF", 4
         ));
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"bmp", "tiff", "webp", "svg", "raw", ""})
+    @ValueSource(strings = {"bmp", "tiff", "webp", "raw", ""})
     @DisplayName("Should throw InvalidImageFormatException when format is not supported")
     void shouldThrowExceptionForInvalidFormat(String format) {
-        assertThrows(InvalidImageFormatException.class, () -> qrCodeParameterValidator.validate(
+        assertThrows(InvalidImageFormatException.class, () -> qrCodeParameterValidator.parse(
                 "content", 250, "L", format, "#000000", "#FFFFFF", 4
         ));
     }
@@ -97,10 +106,10 @@ class QRCodeParameterValidatorTest {
     @ValueSource(strings = {"#000000", "BLACK", "RED", "#FFFFFF", "BLUE", "#00FF00"})
     @DisplayName("Should successfully validate QR code parameters when color format is valid")
     void shouldValidateWithValidColor(String color) {
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 "content", 250, "L", "png", color, "#FFFFFF", 4
         ));
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 "content", 250, "L", "png", "#000000", color, 4
         ));
     }
@@ -109,10 +118,10 @@ class QRCodeParameterValidatorTest {
     @ValueSource(strings = {"RANDOM", "RAINBOW", "PINK", "#12345", "#XYZABC"})
     @DisplayName("Should throw InvalidColorException when color format is not valid")
     void shouldThrowExceptionForInvalidColor(String color) {
-        assertThrows(InvalidColorException.class, () -> qrCodeParameterValidator.validate(
+        assertThrows(InvalidColorException.class, () -> qrCodeParameterValidator.parse(
                 "content", 250, "L", "png", color, "#FFFFFF", 4
         ));
-        assertThrows(InvalidColorException.class, () -> qrCodeParameterValidator.validate(
+        assertThrows(InvalidColorException.class, () -> qrCodeParameterValidator.parse(
                 "content", 250, "L", "png", "#000000", color, 4
         ));
     }
@@ -121,7 +130,7 @@ class QRCodeParameterValidatorTest {
     @DisplayName("Should successfully validate QR code parameters when content contains special characters")
     void shouldValidateWithSpecialCharacters() {
         String specialContent = "Hello! こんにちは! ❤️ #@$%";
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 specialContent, 250, "L", "png", "#000000", "#FFFFFF", 4
         ));
     }
@@ -129,7 +138,7 @@ class QRCodeParameterValidatorTest {
     @Test
     @DisplayName("Should successfully validate QR code parameters when content exceeds typical length")
     void shouldValidateWithLongContent() {
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 "a".repeat(1000), 250, "L", "png", "#000000", "#FFFFFF", 4
         ));
     }
@@ -138,7 +147,7 @@ class QRCodeParameterValidatorTest {
     @DisplayName("Should successfully validate QR code parameters when content is a URL")
     void shouldValidateWithUrlContent() {
         String urlContent = "https://example.com/path?param1=value1&param2=value2";
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 urlContent, 250, "L", "png", "#000000", "#FFFFFF", 4
         ));
     }
@@ -146,10 +155,10 @@ class QRCodeParameterValidatorTest {
     @Test
     @DisplayName("Should throw InvalidMarginException when margin is outside allowed range")
     void shouldThrowExceptionForInvalidMargin() {
-        assertThrows(InvalidMarginException.class, () -> qrCodeParameterValidator.validate(
+        assertThrows(InvalidMarginException.class, () -> qrCodeParameterValidator.parse(
                 "content", 250, "L", "png", "#000000", "#FFFFFF", -1
         ));
-        assertThrows(InvalidMarginException.class, () -> qrCodeParameterValidator.validate(
+        assertThrows(InvalidMarginException.class, () -> qrCodeParameterValidator.parse(
                 "content", 250, "L", "png", "#000000", "#FFFFFF", 51
         ));
     }
@@ -166,9 +175,77 @@ class QRCodeParameterValidatorTest {
             String content, int size, String correction, String format,
             String fcolor, String bcolor, int margin
     ) {
-        assertDoesNotThrow(() -> qrCodeParameterValidator.validate(
+        assertDoesNotThrow(() -> qrCodeParameterValidator.parse(
                 content, size, correction, format, fcolor, bcolor, margin
         ));
     }
 
+    @Test
+    @DisplayName("Should parse parameters into typed values")
+    void shouldParseTypedValues() {
+        var spec = qrCodeParameterValidator.parse("content", 250, "q", "SVG", "red", "#00ff80", 4);
+
+        assertEquals("content", spec.content());
+        assertEquals(250, spec.size());
+        assertEquals(ErrorCorrectionLevel.Q, spec.correction());
+        assertEquals(ImageFormat.SVG, spec.format());
+        assertEquals(0xFFFF0000, spec.onColor());
+        assertEquals(0xFF00FF80, spec.offColor());
+        assertEquals(4, spec.margin());
+    }
+
+    @Test
+    @DisplayName("Should produce the same spec for equivalent spellings of the same parameters")
+    void shouldNormalizeEquivalentParameters() {
+        var spec = qrCodeParameterValidator.parse("content", 250, "L", "png", "#000000", "#FFFFFF", 4);
+        var equivalent = qrCodeParameterValidator.parse("content", 250, "l", "PNG", "black", "#ffffff", 4);
+        var different = qrCodeParameterValidator.parse("content", 250, "L", "png", "#000000", "#FFFFFE", 4);
+
+        assertEquals(spec, equivalent);
+        assertEquals(spec.hashCode(), equivalent.hashCode());
+        assertEquals(spec.eTag(), equivalent.eTag());
+        assertNotEquals(spec, different);
+        assertNotEquals(spec.eTag(), different.eTag());
+    }
+
+    @Test
+    @DisplayName("Should apply default colors when parsing a request without colors")
+    void shouldApplyDefaultColors() {
+        var spec = qrCodeParameterValidator.parse(new GenerationRequest("content", null, null, null, null, null, null));
+
+        assertEquals(0xFF000000, spec.onColor());
+        assertEquals(0xFFFFFFFF, spec.offColor());
+        assertEquals(ImageFormat.PNG, spec.format());
+    }
+
+    @Test
+    @DisplayName("Should throw validation exceptions without capturing a stack trace")
+    void shouldThrowStacklessValidationExceptions() {
+        var exception = assertThrows(InvalidColorException.class, () -> qrCodeParameterValidator.parse(
+                "content", 250, "L", "png", "#GGGGGG", "#FFFFFF", 4
+        ));
+
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Should parse the mask selection mode without making it part of the image identity")
+    void shouldParseMaskSelection() {
+        var standard = qrCodeParameterValidator.parse("content", 250, "L", "png", "#000000", "#FFFFFF", 4);
+        var fast = qrCodeParameterValidator.parse("content", 250, "L", "png", "#000000", "#FFFFFF", 4, "FAST");
+
+        assertNull(standard.maskSelection());
+        assertEquals(MaskSelection.FAST, fast.maskSelection());
+        assertEquals(standard, fast);
+        assertEquals(standard.eTag(), fast.eTag());
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidMaskSelectionException when the mask selection mode is unknown")
+    void shouldThrowExceptionForInvalidMaskSelection() {
+        assertThrows(InvalidMaskSelectionException.class, () -> qrCodeParameterValidator.parse(
+                "content", 250, "L", "png", "#000000", "#FFFFFF", 4, "parallel"
+        ));
+    }
+
 }
@@ -1,4 +1,5 @@
 import { NextRequest, NextResponse } from 'next/server';
+import { forwardedForHeader } from '@/lib/forwarding';
 import type { LoginRequest, AuthResponse } from '@/types/auth';
 
 export async function POST(request: NextRequest) {
@@ -7,7 +8,10 @@ export async function POST(request: NextRequest) {
 
     const response = await fetch(`${process.env.API_URL}/auth/login`, {
       method: 'POST',
-      headers: { 'Content-Type': 'application/json' },
+      headers: {
+        'Content-Type': 'application/json',
+        ...forwardedForHeader(request),
+      },
       body: JSON.stringify(body),
     });
 
@@ -21,9 +25,8 @@ export async function POST(request: NextRequest) {
     }
 
     const res = NextResponse.json(data);
-    const setCookie = response.headers.get('set-cookie');
-    if (setCookie) {
-      res.headers.set('set-cookie', setCookie);
+    for (const setCookie of response.headers.getSetCookie()) {
+      res.headers.append('set-cookie', setCookie);
     }
 
     return res;
@@ -1,10 +1,11 @@
-import { NextResponse } from 'next/server';
+import { NextRequest, NextResponse } from 'next/server';
 
-export async function POST() {
+export async function POST(request: NextRequest) {
   try {
+    const cookie = request.headers.get('cookie') ?? '';
     const response = await fetch(`${process.env.API_URL}/auth/logout`, {
       method: 'POST',
-      headers: { 'Content-Type': 'application/json' },
+      headers: { 'Content-Type': 'application/json', cookie },
     });
 
     if (!response.ok) {
@@ -15,9 +16,8 @@ export async function POST() {
     }
 
     const res = NextResponse.json({ message: 'Logged out successfully' });
-    const setCookie = response.headers.get('set-cookie');
-    if (setCookie) {
-      res.headers.set('set-cookie', setCookie);
+    for (const setCookie of response.headers.getSetCookie()) {
+      res.headers.append('set-cookie', setCookie);
     }
 
     return res;
@@ -0,0 +1,54 @@
+import { NextRequest, NextResponse } from 'next/server';
+
+function redirectTarget(request: NextRequest): string {
+  const redirect = request.nextUrl.searchParams.get('redirect');
+  return redirect && redirect.startsWith('/') && !redirect.startsWith('//')
+    ? redirect
+    : '/workspace';
+}
+
+function refreshTokens(request: NextRequest): Promise<Response> {
+  const cookie = request.headers.get('cookie') ?? '';
+  return fetch(`${process.env.API_URL}/auth/refresh`, {
+    method: 'POST',
+    headers: { cookie },
+  });
+}
+
+export async function GET(request: NextRequest) {
+  const loginUrl = new URL('/login', request.url);
+
+  try {
+    const response = await refreshTokens(request);
+
+    if (!response.ok) {
+      return NextResponse.redirect(loginUrl);
+    }
+
+    const res = NextResponse.redirect(
+      new URL(redirectTarget(request), request.url),
+    );
+    for (const setCookie of response.headers.getSetCookie()) {
+      res.headers.append('set-cookie', setCookie);
+    }
+
+    return res;
+  } catch {
+    return NextResponse.redirect(loginUrl);
+  }
+}
+
+export async function POST(request: NextRequest) {
+  try {
+    const response = await refreshTokens(request);
+
+    const res = new NextResponse(null, { status: response.ok ? 204 : 401 });
+    for (const setCookie of response.headers.getSetCookie()) {
+      res.headers.append('set-cookie', setCookie);
+    }
+
+    return res;
+  } catch {
+    return new NextResponse(null, { status: 401 });
+  }
+}
@@ -1,4 +1,5 @@
 import { NextRequest, NextResponse } from 'next/server';
+import { forwardedForHeader } from '@/lib/forwarding';
 import type { RegisterRequest, AuthResponse } from '@/types/auth';
 
 export async function POST(request: NextRequest) {
@@ -7,7 +8,10 @@ export async function POST(request: NextRequest) {
 
     const response = await fetch(`${process.env.API_URL}/auth/register`, {
       method: 'POST',
-      headers: { 'Content-Type': 'application/json' },
+      headers: {
+        'Content-Type': 'application/json',
+        ...forwardedForHeader(request),
+      },
       body: JSON.stringify(body),
     });
 
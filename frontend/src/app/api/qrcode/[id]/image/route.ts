@@ -0,0 +1,47 @@
+import { NextRequest, NextResponse } from 'next/server';
+
+export async function GET(request: NextRequest) {
+  try {
+    const pathSegments = request.nextUrl.pathname.split('/');
+    const id = pathSegments[pathSegments.length - 2];
+    const cookie = request.headers.get('cookie') ?? '';
+
+    const queryParams = new URLSearchParams();
+    const size = request.nextUrl.searchParams.get('size');
+    const type = request.nextUrl.searchParams.get('type');
+    if (size) {
+      queryParams.set('size', size);
+    }
+    if (type) {
+      queryParams.set('type', type);
+    }
+
+    const response = await fetch(
+      `${process.env.API_URL}/qrcode/${id}/image?${queryParams}`,
+      {
+        method: 'GET',
+        headers: { cookie },
+      },
+    );
+
+    if (!response.ok) {
+      return NextResponse.json(
+        { error: 'Failed to load QR code image' },
+        { status: response.status },
+      );
+    }
+
+    return new NextResponse(response.body, {
+      status: response.status,
+      headers: {
+        'Content-Type':
+          response.headers.get('Content-Type') ?? 'application/octet-stream',
+      },
+    });
+  } catch (error) {
+    return NextResponse.json(
+      { error: `Failed to load QR code image: ${error}` },
+      { status: 500 },
+    );
+  }
+}
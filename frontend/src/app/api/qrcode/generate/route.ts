@@ -14,22 +14,45 @@ export async function GET(request: NextRequest) {
     });
 
     const cookie = request.headers.get('cookie') ?? '';
+    const headers: Record<string, string> = { cookie };
+    const ifNoneMatch = request.headers.get('if-none-match');
+    if (ifNoneMatch) {
+      headers['If-None-Match'] = ifNoneMatch;
+    }
 
     const response = await fetch(
       `${process.env.API_URL}/qrcode/generate?${queryParams}`,
       {
         method: 'GET',
-        headers: { cookie },
+        headers,
       },
     );
 
+    const cachingHeaders: Record<string, string> = {};
+    const eTag = response.headers.get('ETag');
+    const cacheControl = response.headers.get('Cache-Control');
+    if (eTag) {
+      cachingHeaders['ETag'] = eTag;
+    }
+    if (cacheControl) {
+      cachingHeaders['Cache-Control'] = cacheControl;
+    }
+
+    if (response.status === 304) {
+      return new NextResponse(null, { status: 304, headers: cachingHeaders });
+    }
+
     if (!response.ok) {
-      throw new Error('Failed to generate QR code');
+      return NextResponse.json(
+        { error: 'Failed to generate QR code' },
+        { status: response.status },
+      );
     }
 
     return new NextResponse(response.body, {
       status: response.status,
       headers: {
+        ...cachingHeaders,
         'Content-Type':
           response.headers.get('Content-Type') ?? 'application/octet-stream',
       },
@@ -7,6 +7,7 @@ import { QRCodeList } from '@/components/qrcode/QRCodeList';
 import { QRCodeGenerator } from '@/components/qrcode/QRCodeGenerator';
 import type { QRCodeResponse, EditQRCodeFormValues } from '@/types/qrcode';
 import classes from './page.module.css';
+import { fetchWithRefresh } from '@/lib/auth';
 
 export default function WorkspacePage() {
   const [activeTab, setActiveTab] = useState<string | null>('list');
@@ -16,7 +17,7 @@ export default function WorkspacePage() {
   const fetchQRCodes = async () => {
     try {
       setIsLoading(true);
-      const response = await fetch('/api/qrcode');
+      const response = await fetchWithRefresh('/api/qrcode');
       const data = await response.json();
 
       if (!response.ok) {
@@ -41,7 +42,7 @@ export default function WorkspacePage() {
   }, []);
 
   const handleDelete = async (id: string) => {
-    const response = await fetch(`/api/qrcode/${id}`, {
+    const response = await fetchWithRefresh(`/api/qrcode/${id}`, {
       method: 'DELETE',
     });
 
@@ -58,7 +59,7 @@ export default function WorkspacePage() {
   };
 
   const handleUpdate = async (id: string, values: EditQRCodeFormValues) => {
-    const response = await fetch(`/api/qrcode/${id}`, {
+    const response = await fetchWithRefresh(`/api/qrcode/${id}`, {
       method: 'PUT',
       headers: {
         'Content-Type': 'application/json',
@@ -3,6 +3,7 @@ import { useState } from 'react';
 import { CreateQRCodeForm } from '@/components/qrcode/CreateQRCodeForm';
 import { QRCodePreview } from '@/components/qrcode/QRCodePreview';
 import type { CreateQRCodeFormValues } from '@/types/qrcode';
+import { fetchWithRefresh } from '@/lib/auth';
 
 interface QRCodeGeneratorProps {
   onTabChange: (value: string) => void;
@@ -37,7 +38,9 @@ export function QRCodeGenerator({
         margin: values.margin.toString(),
       });
 
-      const response = await fetch(`/api/qrcode/generate?${queryParams}`);
+      const response = await fetchWithRefresh(
+        `/api/qrcode/generate?${queryParams}`,
+      );
 
       if (!response.ok) {
         throw new Error('Failed to generate QR code');
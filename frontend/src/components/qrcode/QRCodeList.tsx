@@ -23,6 +23,7 @@ import { notifications } from '@mantine/notifications';
 import Image from 'next/image';
 import { EditQRCodeForm } from '@/components/qrcode/EditQRCodeForm';
 import type { QRCodeResponse, EditQRCodeFormValues } from '@/types/qrcode';
+import { fetchWithRefresh } from '@/lib/auth';
 
 interface QRCodeListProps {
   qrCodes: QRCodeResponse[];
@@ -56,17 +57,9 @@ export function QRCodeList({
 
   const handleDownload = async (qrCode: QRCodeResponse) => {
     try {
-      const queryParams = new URLSearchParams({
-        contents: qrCode.content,
-        size: qrCode.size.toString(),
-        correction: qrCode.errorCorrection,
-        type: qrCode.format,
-        fcolor: encodeURIComponent(qrCode.foregroundColor),
-        bcolor: encodeURIComponent(qrCode.backgroundColor),
-        margin: qrCode.margin.toString(),
-      });
-
-      const response = await fetch(`/api/qrcode/generate?${queryParams}`);
+      const response = await fetchWithRefresh(
+        `/api/qrcode/${qrCode.id}/image`,
+      );
 
       if (!response.ok) {
         throw new Error('Failed to generate QR code');
@@ -115,7 +108,9 @@ export function QRCodeList({
         margin: values.margin.toString(),
       });
 
-      const response = await fetch(`/api/qrcode/generate?${queryParams}`);
+      const response = await fetchWithRefresh(
+        `/api/qrcode/generate?${queryParams}`,
+      );
 
       if (!response.ok) {
         throw new Error('Failed to generate QR code');
@@ -19,6 +19,7 @@ import type {
   SaveFormValues,
   QRCodeResponse,
 } from '@/types/qrcode';
+import { fetchWithRefresh } from '@/lib/auth';
 
 interface QRCodePreviewProps {
   imageUrl: string;
@@ -123,7 +124,7 @@ export function QRCodePreview({
 
       const method = qrCodeToUpdate ? 'PUT' : 'POST';
 
-      const response = await fetch(url, {
+      const response = await fetchWithRefresh(url, {
         method,
         headers: {
           'Content-Type': 'application/json',
@@ -45,3 +45,29 @@ export async function logout(): Promise<void> {
     throw new Error('Failed to logout');
   }
 }
+
+let pendingRefresh: Promise<boolean> | null = null;
+
+function refreshSession(): Promise<boolean> {
+  pendingRefresh ??= fetch('/api/auth/refresh', { method: 'POST' })
+    .then((response) => response.ok)
+    .catch(() => false)
+    .finally(() => {
+      pendingRefresh = null;
+    });
+
+  return pendingRefresh;
+}
+
+export async function fetchWithRefresh(
+  input: string,
+  init?: RequestInit,
+): Promise<Response> {
+  const response = await fetch(input, init);
+
+  if (response.status !== 401 || !(await refreshSession())) {
+    return response;
+  }
+
+  return fetch(input, init);
+}
@@ -0,0 +1,19 @@
+import type { NextRequest } from 'next/server';
+
+const trustedProxyHops = Number(process.env.TRUSTED_PROXY_HOPS ?? '0');
+
+export function forwardedForHeader(
+  request: NextRequest,
+): Record<string, string> {
+  if (!(trustedProxyHops > 0)) {
+    return {};
+  }
+
+  const chain = (request.headers.get('x-forwarded-for') ?? '')
+    .split(',')
+    .map((address) => address.trim())
+    .filter(Boolean);
+  const clientAddress = chain[chain.length - trustedProxyHops];
+
+  return clientAddress ? { 'X-Forwarded-For': clientAddress } : {};
+}
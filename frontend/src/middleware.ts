@@ -12,7 +12,9 @@ export function middleware(request: NextRequest) {
   const isPublic = publicRoutes.some((route) => pathname.startsWith(route));
 
   if (isProtected && !token) {
-    return NextResponse.redirect(new URL('/login', request.url));
+    const refreshUrl = new URL('/api/auth/refresh', request.url);
+    refreshUrl.searchParams.set('redirect', pathname);
+    return NextResponse.redirect(refreshUrl);
   }
 
   if (isPublic && token) {